@@ -0,0 +1,65 @@
+package id.kai.eraport.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.kai.eraport.common.helper.ResponseBuilder;
+import id.kai.eraport.common.response.ApiResponse;
+import id.kai.eraport.dto.menu.MenuView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of the response envelope, for a single menu and for a page of menus
+ * The ObjectMapper is built the way Spring Boot builds it (JavaTimeModule for the timestamp)
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=ApiResponseSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class ApiResponseSerializationBenchmark {
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<MenuView> single;
+    private ApiResponse<List<MenuView>> page;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<MenuView> menus = new ArrayList<>(pageSize);
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < pageSize; i++) {
+            menus.add(new MenuView(UUID.randomUUID(), "Menu " + i, "icon-" + i, "PAGE", UUID.randomUUID(), true,
+                    now, now, 1));
+        }
+
+        single = ResponseBuilder.ok(menus.get(0), "Menu retrieved successfully").getBody();
+        page = ResponseBuilder.paginated(new PageImpl<>(menus, PageRequest.of(0, pageSize), 10_000),
+                "Menu retrieved successfully").getBody();
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(single);
+    }
+
+    @Benchmark
+    public byte[] paginated() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,44 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.common.util.AppUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatting and lookup helpers in AppUtil
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=AppUtilBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class AppUtilBenchmark {
+    private final String[] extensions = {"jpg", "jpeg", "png", "gif", "bmp", "webp", "svg", "pdf"};
+    private final long duration = 3L * 24 * 60 * 60 * 1000 + 5 * 60 * 60 * 1000 + 7 * 60 * 1000 + 9 * 1000;
+    private final String utcTimestamp = "2026-10-17T08:15:30.250Z";
+
+    @Benchmark
+    public String timeFormatDuration() {
+        return AppUtil.timeFormatDuration(duration);
+    }
+
+    @Benchmark
+    public String convertToCurrentTimeZone() {
+        return AppUtil.convertToCurrentTimeZone(utcTimestamp);
+    }
+
+    @Benchmark
+    public boolean checkArrayContainsHit() {
+        return AppUtil.checkArrayContains(extensions, "webp");
+    }
+
+    @Benchmark
+    public boolean checkArrayContainsMiss() {
+        return AppUtil.checkArrayContains(extensions, "exe");
+    }
+}
@@ -0,0 +1,33 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.DemoApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the application against an in-memory H2 database in PostgreSQL mode, on a random port
+ * Flyway is off because the partial indexes are PostgreSQL only, Hibernate creates the tables instead
+ */
+final class BenchmarkContext {
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return SpringApplication.run(DemoApplication.class,
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;"
+                        + "DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.flyway.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.database-platform=",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+    }
+}
@@ -0,0 +1,84 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.common.cache.VerifiedTokenCache;
+import id.kai.eraport.configuration.JwtAuthFilter;
+import id.kai.eraport.configuration.JwtKeyProperties;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.service.impl.JwtKeyRingImpl;
+import id.kai.eraport.service.impl.JwtServiceImpl;
+import id.kai.eraport.service.interfaces.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost JwtAuthFilter adds to every request, from the Authorization header to the security context
+ * cached reuses a verified token, uncached verifies the signature each time, anonymous sends no header
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=JwtAuthFilterBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtAuthFilterBenchmark {
+    @Param({"cached", "uncached", "anonymous"})
+    private String mode;
+
+    private JwtAuthFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    private final FilterChain chain = (servletRequest, servletResponse) -> {
+    };
+
+    @Setup
+    public void setup() {
+        JwtKeyRingImpl keyRing = new JwtKeyRingImpl(new JwtKeyProperties(), new DefaultResourceLoader());
+        keyRing.init();
+        JwtServiceImpl jwtService = new JwtServiceImpl(keyRing, new SimpleMeterRegistry());
+        VerifiedTokenCache cache = new VerifiedTokenCache(!mode.equals("uncached"), 10_000);
+        TokenRevocationService revocations = new TokenRevocationService() {
+            @Override
+            public boolean isRevoked(UUID familyId) {
+                return false;
+            }
+
+            @Override
+            public void revokeFamily(UUID familyId) {
+            }
+        };
+        filter = new JwtAuthFilter(jwtService, cache, revocations);
+
+        request = new MockHttpServletRequest("GET", "/api/v1/menu");
+        if (!mode.equals("anonymous")) {
+            JwtUserInfo user = new JwtUserInfo(UUID.randomUUID(), "Benchmark User", "benchmark@eraport.id",
+                    UUID.randomUUID());
+            request.addHeader("Authorization", "Bearer " + jwtService.generateAccessToken(user, UUID.randomUUID()));
+        }
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws ServletException, IOException {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The original JwtService implementation (parser built per call, HashMap claims) on the same key type as
+ * JwtServiceBenchmark, so its results compare with the metrics=false rows there for the same algorithm
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include='Jwt(Service|Legacy)Benchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtLegacyBenchmark {
+    private static final long EXPIRATION_TIME_ACCESS_TOKEN = 1000 * 60 * 60 * 24;
+
+    @Param({"ES256", "EdDSA"})
+    private String algorithm;
+
+    private KeyPair keyPair;
+    private JwtUserInfo user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        keyPair = switch (algorithm) {
+            case "ES256" -> Jwts.SIG.ES256.keyPair().build();
+            case "EdDSA" -> Jwts.SIG.EdDSA.keyPair().build();
+            default -> throw new IllegalArgumentException("Unsupported algorithm " + algorithm);
+        };
+        user = new JwtUserInfo(UUID.randomUUID(), "Benchmark User", "benchmark@eraport.id", UUID.randomUUID());
+        token = sign();
+    }
+
+    @Benchmark
+    public String sign() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("id", user.getId());
+        claims.put("name", user.getName());
+        claims.put("email", user.getEmail());
+        claims.put("role", user.getRole());
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(user.getEmail())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_ACCESS_TOKEN))
+                .signWith(keyPair.getPrivate())
+                .compact();
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return Jwts.parser()
+                .setSigningKey(keyPair.getPublic())
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,76 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.configuration.JwtKeyProperties;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.service.impl.JwtKeyRingImpl;
+import id.kai.eraport.service.impl.JwtServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens signed and verified per second on a single thread
+ * JwtLegacyBenchmark runs the original implementation on the same key types
+ * metrics=false denies every meter, so the difference to metrics=true is the cost of the Prometheus timers
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include='Jwt(Service|Legacy)Benchmark'
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class JwtServiceBenchmark {
+    @Param({"ES256", "EdDSA"})
+    private String algorithm;
+
+    @Param({"true", "false"})
+    private boolean metrics;
+
+    private JwtServiceImpl jwtService;
+    private JwtUserInfo user;
+    private final UUID familyId = UUID.randomUUID();
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setAlgorithm(algorithm);
+        JwtKeyRingImpl keyRing = new JwtKeyRingImpl(properties, new DefaultResourceLoader());
+        keyRing.init();
+        jwtService = new JwtServiceImpl(keyRing, meterRegistry());
+
+        user = new JwtUserInfo(UUID.randomUUID(), "Benchmark User", "benchmark@eraport.id", UUID.randomUUID());
+
+        token = jwtService.generateAccessToken(user, familyId);
+    }
+
+    private MeterRegistry meterRegistry() {
+        if (metrics) {
+            return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        }
+        MeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(MeterFilter.deny());
+        return registry;
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtService.generateAccessToken(user, familyId);
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtService.extractAllClaims(token);
+    }
+}
@@ -0,0 +1,82 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.model.Menus;
+import id.kai.eraport.service.interfaces.MenuService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Menus created per second through the service layer, ITEMS menus per invocation
+ * singleItem: one create call (and transaction) per menu, as the per-menu HTTP endpoint does
+ * batch: one createAll call, inserts grouped into JDBC batches of hibernate.jdbc.batch_size
+ * Both paths also pay the permission matrix reload after commit, once per transaction.
+ * The table is emptied after every iteration so that reload stays the same size throughout
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=MenuBatchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(MenuBatchBenchmark.ITEMS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class MenuBatchBenchmark {
+    static final int ITEMS = 100;
+
+    private ConfigurableApplicationContext context;
+    private MenuService menuService;
+    private JdbcTemplate jdbcTemplate;
+    private JwtUserInfo user;
+    private long sequence;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start();
+        menuService = context.getBean(MenuService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        user = new JwtUserInfo(UUID.randomUUID(), "benchmark", "benchmark@example.com", UUID.randomUUID());
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("delete from menus");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void singleItem() {
+        for (Menus menu : newMenus()) {
+            menuService.create(menu, user);
+        }
+    }
+
+    @Benchmark
+    public Object batch() {
+        return menuService.createAll(newMenus(), user);
+    }
+
+    private List<Menus> newMenus() {
+        List<Menus> menus = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            Menus menu = new Menus();
+            menu.setName("Menu " + sequence++);
+            menu.setIcon("icon-" + i);
+            menu.setType("PAGE");
+            menus.add(menu);
+        }
+        return menus;
+    }
+}
@@ -0,0 +1,91 @@
+package id.kai.eraport.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.kai.eraport.dto.menu.MenuView;
+import id.kai.eraport.model.Menus;
+import id.kai.eraport.repository.db.MenuRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading and serializing a 10k-row menu listing inside a transaction, as the service does
+ * entities: managed Menus, loaded into the persistence context, snapshotted and flushed on commit
+ * projection: MenuView records built from the selected columns only
+ * The gc profiler (enabled by the benchmark profile) reports gc.alloc.rate.norm, the bytes allocated per listing
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=MenuListingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(1)
+public class MenuListingBenchmark {
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private MenuRepository menuRepository;
+    private ObjectMapper objectMapper;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup
+    public void setup() {
+        context = BenchmarkContext.start();
+        menuRepository = context.getBean(MenuRepository.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{UUID.randomUUID(), "Menu " + i, "icon-" + (i % 50), "PAGE", true, false,
+                    now, UUID.randomUUID(), now, UUID.randomUUID()});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate("insert into menus (id, name, icon, type, is_active, "
+                + "is_deleted, created_at, created_by, last_modified_at, last_modified_by) "
+                + "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] entities() {
+        return transactionTemplate.execute(status -> {
+            List<Menus> menus = menuRepository.findAllByIsDeletedFalse(Sort.by("name"));
+            return serialize(menus);
+        });
+    }
+
+    @Benchmark
+    public byte[] projection() {
+        return transactionTemplate.execute(status -> {
+            Slice<MenuView> menus = menuRepository.findViewsByIsDeletedFalse(PageRequest.of(0, ROWS, Sort.by("name")));
+            return serialize(menus.getContent());
+        });
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.common.util.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Id generation cost with 4 threads competing, v7 shares one CAS while v4 pulls from SecureRandom
+ *
+ * Run with: mvn -Pbenchmark verify -Djmh.include=UuidGeneratorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class UuidGeneratorBenchmark {
+    @Benchmark
+    public UUID randomV4() {
+        return UUID.randomUUID();
+    }
+
+    @Benchmark
+    public UUID timeOrderedV7() {
+        return UuidV7.next();
+    }
+}
@@ -0,0 +1,93 @@
+package id.kai.eraport.benchmark;
+
+import id.kai.eraport.common.util.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Primary key inserts of random (v4) against time-ordered (v7) UUIDs on a local PostgreSQL
+ * Every invocation commits BATCH rows into a table that keeps growing for the whole run, so late
+ * iterations show the cost of random inserts once the index no longer fits in shared buffers.
+ * The teardown prints the primary key index size, which random inserts inflate through page splits
+ *
+ * Needs a reachable database, configured through environment variables because JMH forks:
+ * BENCHMARK_JDBC_URL (default jdbc:postgresql://localhost:5432/eraport), BENCHMARK_JDBC_USER, BENCHMARK_JDBC_PASSWORD
+ * Run with: mvn -Pbenchmark verify -Djmh.include=UuidInsertBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(UuidInsertBenchmark.BATCH)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(1)
+public class UuidInsertBenchmark {
+    static final int BATCH = 1000;
+
+    @Param({"v4", "v7"})
+    private String version;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private String table;
+    private long rows;
+
+    @Setup
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_JDBC_URL", "jdbc:postgresql://localhost:5432/eraport?reWriteBatchedInserts=true"),
+                env("BENCHMARK_JDBC_USER", "postgres"),
+                env("BENCHMARK_JDBC_PASSWORD", "root"));
+        table = "uuid_benchmark_" + version;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id uuid primary key, name varchar(255) not null, "
+                    + "created_at timestamp not null default now())");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement("insert into " + table + " (id, name) values (?, ?)");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select pg_relation_size('" + table + "_pkey'), "
+                     + "pg_relation_size('" + table + "')")) {
+            rs.next();
+            long indexBytes = rs.getLong(1);
+            System.out.printf("%n%s: %d rows, primary key index %d KB (%.1f bytes/row), heap %d KB%n",
+                    version, rows, indexBytes / 1024, (double) indexBytes / Math.max(rows, 1), rs.getLong(2) / 1024);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table " + table);
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    public void insert() throws SQLException {
+        boolean timeOrdered = "v7".equals(version);
+        for (int i = 0; i < BATCH; i++) {
+            insert.setObject(1, timeOrdered ? UuidV7.next() : UUID.randomUUID());
+            insert.setString(2, "Menu " + rows++);
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,136 @@
+package id.kai.eraport.loadtest;
+
+import id.kai.eraport.common.util.UuidV7;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Synthetic roles, a menu tree, role grants and users, streamed in with COPY so a million users take seconds
+ * Every user shares one precomputed BCrypt hash of PASSWORD, hashing a million passwords would dominate the run
+ */
+final class DataSeeder {
+    static final String PASSWORD = "LoadTest#2026";
+
+    /** Menus the permission rules in application.properties look up by name */
+    private static final List<String> PERMISSION_MENUS = List.of("Role Management", "Menu Management", "User Management");
+    private static final int ROOT_MENUS = 50;
+    private static final double GRANT_RATIO = 0.2;
+    private static final int COPY_BUFFER = 1 << 16;
+
+    private final LoadTestSettings settings;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final String now = new Timestamp(System.currentTimeMillis()).toString();
+
+    DataSeeder(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    static String email(int user) {
+        return "user" + user + "@loadtest.local";
+    }
+
+    void seed(Connection connection, String passwordHash) throws SQLException {
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("truncate table role_menus, refresh_tokens, users, menus, roles");
+        }
+
+        List<UUID> roles = ids(Math.max(1, settings.roles()));
+        copy(connection, "roles (id, role_name, is_admin, is_deleted, created_at, version)", roles.size(), (i, row) ->
+                row.append(roles.get(i)).append(',').append(i == 0 ? "Admin" : "Role " + i)
+                        .append(',').append(i == 0).append(",false,").append(now).append(",0"));
+
+        List<UUID> menus = ids(Math.max(PERMISSION_MENUS.size(), settings.menus()));
+        int roots = Math.min(menus.size(), PERMISSION_MENUS.size() + ROOT_MENUS);
+        copy(connection, "menus (id, name, icon, type, parent_menu_id, is_active, is_deleted, created_at, version)",
+                menus.size(), (i, row) -> {
+                    String name = i < PERMISSION_MENUS.size() ? PERMISSION_MENUS.get(i) : "Menu " + i;
+                    row.append(menus.get(i)).append(',').append(name).append(",icon-").append(i % 32).append(',')
+                            .append(i < roots ? "GROUP" : "PAGE").append(',');
+                    if (i >= roots) {
+                        row.append(menus.get(random.nextInt(i)));
+                    }
+                    row.append(",true,false,").append(now).append(",0");
+                });
+
+        // The Admin role bypasses grants, the rest get a random slice of the tree
+        List<UUID[]> grants = new ArrayList<>();
+        for (int role = 1; role < roles.size(); role++) {
+            for (UUID menu : menus) {
+                if (random.nextDouble() < GRANT_RATIO) {
+                    grants.add(new UUID[]{roles.get(role), menu});
+                }
+            }
+        }
+        copy(connection, "role_menus (id, role_id, menu_id, created_at)", grants.size(), (i, row) ->
+                row.append(UuidV7.next()).append(',').append(grants.get(i)[0]).append(',').append(grants.get(i)[1])
+                        .append(',').append(now));
+
+        copy(connection, "users (id, name, email, password, role, is_deleted, created_at)", settings.users(),
+                (i, row) -> row.append(UuidV7.next()).append(",User ").append(i).append(',').append(email(i))
+                        .append(',').append(passwordHash).append(',').append(roles.get(random.nextInt(roles.size())))
+                        .append(",false,").append(now));
+
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze");
+        }
+        System.out.printf("Seeded %,d roles, %,d menus, %,d grants, %,d users%n", roles.size(), menus.size(),
+                grants.size(), settings.users());
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UuidV7.next());
+        }
+        return ids;
+    }
+
+    /**
+     * COPY rows in CSV form, values here never contain commas or quotes so nothing is escaped
+     * An empty unquoted field is NULL
+     */
+    private static void copy(Connection connection, String target, int rows, RowWriter writer) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI()
+                .copyIn("copy " + target + " from stdin with (format csv)");
+        try {
+            StringBuilder buffer = new StringBuilder(COPY_BUFFER + 1024);
+            for (int i = 0; i < rows; i++) {
+                writer.write(i, buffer);
+                buffer.append('\n');
+                if (buffer.length() >= COPY_BUFFER) {
+                    flush(copyIn, buffer);
+                }
+            }
+            flush(copyIn, buffer);
+            copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(int index, StringBuilder row);
+    }
+}
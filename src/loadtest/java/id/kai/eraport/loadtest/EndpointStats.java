@@ -0,0 +1,66 @@
+package id.kai.eraport.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome counters and a latency histogram (microseconds, 3 significant digits) for one scenario
+ */
+final class EndpointStats {
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final Map<String, LongAdder> errorsByStatus = new ConcurrentHashMap<>();
+
+    void success(long latencyNanos) {
+        latencies.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+    }
+
+    /**
+     * A non-2xx response, or status -1 when the request never got one
+     */
+    void failure(int status) {
+        errors.increment();
+        errorsByStatus.computeIfAbsent(status < 0 ? "io" : String.valueOf(status), key -> new LongAdder()).increment();
+    }
+
+    /** Arrival not sent because the in-flight cap was reached */
+    void dropped() {
+        dropped.increment();
+    }
+
+    void skipped() {
+        skipped.increment();
+    }
+
+    // ==================== STATISTICS ====================
+
+    Histogram getLatencies() {
+        return latencies;
+    }
+
+    long getErrors() {
+        return errors.sum();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    long getSkipped() {
+        return skipped.sum();
+    }
+
+    Map<String, Long> getErrorsByStatus() {
+        Map<String, Long> counts = new TreeMap<>();
+        errorsByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+}
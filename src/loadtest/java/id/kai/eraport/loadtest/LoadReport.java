@@ -0,0 +1,81 @@
+package id.kai.eraport.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Throughput and latency percentiles per endpoint, printed as a table and written as JSON
+ * Percentiles cover successful responses only, failures are counted separately by status
+ */
+record LoadReport(Map<String, Object> settings, List<EndpointResult> endpoints) {
+
+    record EndpointResult(String endpoint, double targetRate, long requests, long errors, long dropped, long skipped,
+                          double throughput, double p50Ms, double p99Ms, double p999Ms, double maxMs,
+                          Map<String, Long> errorsByStatus) {
+    }
+
+    static LoadReport of(LoadTestSettings settings, List<Scenario> scenarios, Map<String, EndpointStats> stats,
+                         Duration measured) {
+        double seconds = measured.toNanos() / 1e9;
+        List<EndpointResult> endpoints = new ArrayList<>();
+        for (Scenario scenario : scenarios) {
+            EndpointStats endpoint = stats.get(scenario.name());
+            Histogram latencies = endpoint.getLatencies();
+            endpoints.add(new EndpointResult(scenario.name(), scenario.ratePerSecond(),
+                    latencies.getTotalCount(), endpoint.getErrors(), endpoint.getDropped(), endpoint.getSkipped(),
+                    latencies.getTotalCount() / seconds,
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()),
+                    endpoint.getErrorsByStatus()));
+        }
+
+        Map<String, Object> parameters = new TreeMap<>(Map.of(
+                "users", settings.users(),
+                "roles", settings.roles(),
+                "menus", settings.menus(),
+                "sessions", settings.sessions(),
+                "bcryptStrength", settings.bcryptStrength(),
+                "warmupSeconds", settings.warmup().toSeconds(),
+                "durationSeconds", seconds,
+                "maxInFlight", settings.maxInFlight(),
+                "rateLimit", settings.rateLimit(),
+                "appArgs", settings.appArgs()));
+        return new LoadReport(parameters, endpoints);
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-10s %9s %9s %8s %8s %8s %10s %9s %9s %9s %9s%n", "endpoint", "target/s", "requests",
+                "errors", "dropped", "skipped", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (EndpointResult endpoint : endpoints) {
+            out.printf("%-10s %9.1f %9d %8d %8d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.endpoint(),
+                    endpoint.targetRate(), endpoint.requests(), endpoint.errors(), endpoint.dropped(),
+                    endpoint.skipped(), endpoint.throughput(), endpoint.p50Ms(), endpoint.p99Ms(),
+                    endpoint.p999Ms(), endpoint.maxMs());
+            if (!endpoint.errorsByStatus().isEmpty()) {
+                out.printf("%-10s errors by status %s%n", "", endpoint.errorsByStatus());
+            }
+        }
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), this);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,199 @@
+package id.kai.eraport.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import id.kai.eraport.DemoApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test: seeds PostgreSQL with synthetic data, boots the application on a random port with the
+ * prod profile and drives login, refresh, menu and role listings with an open workload (see OpenModelLoadGenerator)
+ * The generator runs in the same JVM as the server, on one box the numbers are for comparing builds, not capacity
+ *
+ * Run with: mvn -Ploadtest verify -Dloadtest.users=1000000 -Dloadtest.rate.menu=500
+ */
+public final class LoadTest {
+    private static final int PAGE_SIZE = 20;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadTestSettings settings;
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> accessTokens = new ArrayList<>();
+    private final Queue<String> refreshTokens = new ConcurrentLinkedQueue<>();
+
+    private LoadTest(LoadTestSettings settings, URI baseUri) {
+        this.settings = settings;
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        try (LoadTestDatabase database = LoadTestDatabase.start()) {
+            System.out.println("Database " + database.getUrl() + (database.isEmbedded() ? " (embedded)" : ""));
+            database.migrate();
+
+            long started = System.nanoTime();
+            String passwordHash = new BCryptPasswordEncoder(settings.bcryptStrength()).encode(DataSeeder.PASSWORD);
+            try (Connection connection = database.connect()) {
+                new DataSeeder(settings).seed(connection, passwordHash);
+            }
+            System.out.printf("Seeding took %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+            try (ConfigurableApplicationContext context = startApplication(settings, database)) {
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                LoadReport report = new LoadTest(settings, URI.create("http://localhost:" + port)).run();
+                report.print(System.out);
+                report.write(settings.result());
+                System.out.println("Results written to " + settings.result().toAbsolutePath());
+            }
+        }
+        System.exit(0);
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadTestSettings settings,
+                                                                    LoadTestDatabase database) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.profiles.active=prod",
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.datasource.url=" + database.getUrl(),
+                "--spring.datasource.username=" + database.getUsername(),
+                "--spring.datasource.password=" + database.getPassword(),
+                "--security.password.bcrypt-strength=" + settings.bcryptStrength(),
+                "--rate-limit.enabled=" + settings.rateLimit(),
+                "--logging.level.root=WARN"));
+        if (!settings.appArgs().isBlank()) {
+            args.addAll(Arrays.asList(settings.appArgs().trim().split("\\s+")));
+        }
+        return SpringApplication.run(DemoApplication.class, args.toArray(String[]::new));
+    }
+
+    private LoadReport run() throws Exception {
+        openSessions();
+        List<Scenario> scenarios = List.of(
+                new Scenario("login", settings.loginRate(), this::login),
+                new Scenario("refresh", settings.refreshRate(), this::refresh, this::rotateRefreshToken),
+                new Scenario("menu", settings.menuRate(), () -> listing("/api/v1/menu", settings.menus())),
+                new Scenario("role", settings.roleRate(), () -> listing("/api/v1/role", settings.roles())));
+
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, settings.maxInFlight());
+        if (!settings.warmup().isZero()) {
+            System.out.printf("Warming up for %d s%n", settings.warmup().toSeconds());
+            generator.run(scenarios, settings.warmup());
+        }
+
+        System.out.printf("Measuring for %d s%n", settings.duration().toSeconds());
+        long started = System.nanoTime();
+        Map<String, EndpointStats> stats = generator.run(scenarios, settings.duration());
+        return LoadReport.of(settings, scenarios, stats, Duration.ofNanos(System.nanoTime() - started));
+    }
+
+    /**
+     * Log in a pool of users up front, their tokens back the authenticated and refresh scenarios
+     * Bounded by the core count so the logins fit the password hashing queue
+     */
+    private void openSessions() throws Exception {
+        int sessions = Math.max(1, Math.min(settings.sessions(), settings.users()));
+        int stride = Math.max(1, settings.users() / sessions);
+        List<Future<HttpResponse<String>>> logins = new ArrayList<>(sessions);
+        try (ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors())) {
+            for (int i = 0; i < sessions; i++) {
+                HttpRequest request = loginRequest(DataSeeder.email(i * stride));
+                logins.add(executor.submit(() -> client.send(request, HttpResponse.BodyHandlers.ofString())));
+            }
+        }
+
+        for (Future<HttpResponse<String>> login : logins) {
+            HttpResponse<String> response = login.get();
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+            }
+            JsonNode result = objectMapper.readTree(response.body()).path("result");
+            accessTokens.add(result.path("accessToken").asText());
+            refreshTokens.add(result.path("refreshToken").asText());
+        }
+        System.out.printf("Opened %d sessions%n", accessTokens.size());
+    }
+
+    private HttpRequest login() {
+        return loginRequest(DataSeeder.email(ThreadLocalRandom.current().nextInt(settings.users())));
+    }
+
+    private HttpRequest loginRequest(String email) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("email", email)
+                .put("password", DataSeeder.PASSWORD);
+        return post("/api/v1/auth/login", body);
+    }
+
+    private HttpRequest refresh() {
+        String refreshToken = refreshTokens.poll();
+        if (refreshToken == null) {
+            return null;
+        }
+        return post("/api/v1/auth/refresh", objectMapper.createObjectNode().put("refreshToken", refreshToken));
+    }
+
+    /**
+     * Refresh tokens are single use, the rotated one goes back into the pool
+     */
+    private void rotateRefreshToken(HttpResponse<String> response) {
+        try {
+            String refreshToken = objectMapper.readTree(response.body()).path("result").path("refreshToken")
+                    .asText(null);
+            if (refreshToken != null) {
+                refreshTokens.add(refreshToken);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable refresh response", e);
+        }
+    }
+
+    private HttpRequest listing(String path, int rows) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int page = 1 + random.nextInt(Math.max(1, (rows + PAGE_SIZE - 1) / PAGE_SIZE));
+        return HttpRequest.newBuilder(baseUri.resolve(path + "?page=" + page + "&size=" + PAGE_SIZE))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Authorization", "Bearer " + accessTokens.get(random.nextInt(accessTokens.size())))
+                .GET()
+                .build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package id.kai.eraport.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+
+/**
+ * PostgreSQL for the load test, either a local server named by LOADTEST_JDBC_URL (with LOADTEST_JDBC_USER
+ * and LOADTEST_JDBC_PASSWORD) or an embedded one started from the binaries bundled as a Maven artifact,
+ * so nothing is downloaded at run time. PostgreSQL refuses to run as root, use a local server there
+ */
+final class LoadTestDatabase implements AutoCloseable {
+    private final EmbeddedPostgres embedded;
+    private final String url;
+    private final String username;
+    private final String password;
+
+    private LoadTestDatabase(EmbeddedPostgres embedded, String url, String username, String password) {
+        this.embedded = embedded;
+        this.url = url;
+        this.username = username;
+        this.password = password;
+    }
+
+    static LoadTestDatabase start() throws IOException {
+        String url = System.getenv("LOADTEST_JDBC_URL");
+        if (url != null && !url.isBlank()) {
+            return new LoadTestDatabase(null, url, env("LOADTEST_JDBC_USER", "postgres"),
+                    env("LOADTEST_JDBC_PASSWORD", "root"));
+        }
+
+        EmbeddedPostgres embedded = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("shared_buffers", "256MB")
+                .start();
+        return new LoadTestDatabase(embedded, "jdbc:postgresql://localhost:" + embedded.getPort() + "/postgres",
+                "postgres", "postgres");
+    }
+
+    /**
+     * Bring the schema up to date with the application's own migrations
+     */
+    void migrate() {
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    Connection connect() throws SQLException {
+        return DriverManager.getConnection(url, username, password);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    String getPassword() {
+        return password;
+    }
+
+    boolean isEmbedded() {
+        return embedded != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (embedded != null) {
+            embedded.close();
+        }
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
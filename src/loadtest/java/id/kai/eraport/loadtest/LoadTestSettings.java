@@ -0,0 +1,38 @@
+package id.kai.eraport.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Load test knobs, read from -Dloadtest.* system properties (the loadtest Maven profile forwards them)
+ * Rates are arrivals per second of the open model, 0 switches an endpoint off
+ */
+record LoadTestSettings(int users, int roles, int menus, int sessions, int bcryptStrength,
+                        Duration warmup, Duration duration,
+                        double loginRate, double refreshRate, double menuRate, double roleRate,
+                        int maxInFlight, boolean rateLimit, String appArgs, Path result) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.users", 100_000),
+                Integer.getInteger("loadtest.roles", 50),
+                Integer.getInteger("loadtest.menus", 5_000),
+                Integer.getInteger("loadtest.sessions", 200),
+                Integer.getInteger("loadtest.bcrypt-strength", 10),
+                Duration.ofSeconds(Integer.getInteger("loadtest.warmup-seconds", 15)),
+                Duration.ofSeconds(Integer.getInteger("loadtest.duration-seconds", 60)),
+                rate("login", 10),
+                rate("refresh", 50),
+                rate("menu", 300),
+                rate("role", 100),
+                Integer.getInteger("loadtest.max-in-flight", 2_000),
+                Boolean.parseBoolean(System.getProperty("loadtest.rate-limit", "false")),
+                System.getProperty("loadtest.app-args", ""),
+                Path.of(System.getProperty("loadtest.result", "target/loadtest-result.json")));
+    }
+
+    private static double rate(String endpoint, double defaultRate) {
+        String value = System.getProperty("loadtest.rate." + endpoint);
+        return value == null || value.isBlank() ? defaultRate : Double.parseDouble(value);
+    }
+}
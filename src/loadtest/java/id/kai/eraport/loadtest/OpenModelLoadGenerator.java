@@ -0,0 +1,104 @@
+package id.kai.eraport.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open workload model: arrivals follow a Poisson process per scenario whatever the server's response time,
+ * each one sent on its own virtual thread. Latency is measured from the arrival's scheduled time rather than
+ * the moment it was sent, so a stalled server shows up in the percentiles instead of slowing the generator
+ * down (coordinated omission). Arrivals past the in-flight cap are dropped and counted
+ */
+final class OpenModelLoadGenerator {
+    private final HttpClient client;
+    private final Semaphore inFlight;
+
+    OpenModelLoadGenerator(HttpClient client, int maxInFlight) {
+        this.client = client;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    Map<String, EndpointStats> run(List<Scenario> scenarios, Duration duration) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new EndpointStats()));
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Thread> arrivals = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                if (scenario.ratePerSecond() > 0) {
+                    arrivals.add(Thread.ofPlatform().name("arrivals-" + scenario.name())
+                            .start(() -> arrive(scenario, stats.get(scenario.name()), start, end, requests)));
+                }
+            }
+            for (Thread thread : arrivals) {
+                thread.join();
+            }
+        }
+        return stats;
+    }
+
+    private void arrive(Scenario scenario, EndpointStats stats, long start, long end, ExecutorService requests) {
+        SplittableRandom random = new SplittableRandom();
+        double meanGapNanos = 1e9 / scenario.ratePerSecond();
+        long scheduledAt = start;
+        while (true) {
+            scheduledAt += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (scheduledAt >= end) {
+                return;
+            }
+            long wait = scheduledAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                stats.dropped();
+                continue;
+            }
+
+            long intended = scheduledAt;
+            requests.execute(() -> {
+                try {
+                    send(scenario, stats, intended);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void send(Scenario scenario, EndpointStats stats, long intended) {
+        HttpRequest request = scenario.request().get();
+        if (request == null) {
+            stats.skipped();
+            return;
+        }
+
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                stats.success(System.nanoTime() - intended);
+                scenario.onSuccess().accept(response);
+            } else {
+                stats.failure(response.statusCode());
+            }
+        } catch (IOException e) {
+            stats.failure(-1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
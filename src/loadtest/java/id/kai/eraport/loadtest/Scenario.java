@@ -0,0 +1,18 @@
+package id.kai.eraport.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * One endpoint driven at a fixed mean arrival rate
+ * The request supplier may return null when it has nothing to send (no refresh token left), that arrival is skipped
+ */
+record Scenario(String name, double ratePerSecond, Supplier<HttpRequest> request,
+                Consumer<HttpResponse<String>> onSuccess) {
+
+    Scenario(String name, double ratePerSecond, Supplier<HttpRequest> request) {
+        this(name, ratePerSecond, request, response -> { });
+    }
+}
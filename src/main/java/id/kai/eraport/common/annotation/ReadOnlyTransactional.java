@@ -0,0 +1,21 @@
+package id.kai.eraport.common.annotation;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Read-only transaction: Hibernate skips flushing and dirty checking, the JDBC connection is
+ * marked readOnly and, when a replica is configured, is taken from the replica
+ * jakarta.transaction.Transactional has no read-only flag, hence the Spring annotation underneath
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Transactional(readOnly = true)
+public @interface ReadOnlyTransactional {
+}
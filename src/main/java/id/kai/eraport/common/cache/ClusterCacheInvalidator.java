@@ -0,0 +1,236 @@
+package id.kai.eraport.common.cache;
+
+import id.kai.eraport.common.pagination.PageCounter;
+import id.kai.eraport.common.util.TransactionUtil;
+import id.kai.eraport.model.Menus;
+import id.kai.eraport.model.Roles;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the caches of every node coherent with writes made on any of them
+ * A write NOTIFYs a PostgreSQL channel inside its own transaction, so the message is delivered only
+ * if it commits. Every node LISTENs on a dedicated connection, evicts the affected Hibernate regions
+ * and reloads its in-memory snapshots. Without PostgreSQL (H2 in benchmarks) only local eviction happens
+ */
+@Component
+public class ClusterCacheInvalidator {
+    private static final Logger log = LoggerFactory.getLogger(ClusterCacheInvalidator.class);
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final String MENU_QUERY_REGION = "menu-queries";
+    private static final String MENU_COUNT_REGION = "menus";
+
+    public enum Topic {
+        MENUS, ROLES, GRANTS
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final SessionFactory sessionFactory;
+    private final RoleCatalog roleCatalog;
+    private final PermissionMatrix permissionMatrix;
+    private final PageCounter pageCounter;
+    private final String channel;
+    private final long pollMillis;
+    private final boolean enabled;
+
+    // Lets a node recognise and skip its own notifications
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile boolean running;
+    private volatile Connection listenConnection;
+    private Thread listener;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+
+    public ClusterCacheInvalidator(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+                                   EntityManagerFactory entityManagerFactory, RoleCatalog roleCatalog,
+                                   PermissionMatrix permissionMatrix, PageCounter pageCounter,
+                                   @Value("${cache.invalidation.enabled:true}") boolean enabled,
+                                   @Value("${cache.invalidation.channel:eraport_cache}") String channel,
+                                   @Value("${cache.invalidation.poll-ms:5000}") long pollMillis) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid cache.invalidation.channel: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.roleCatalog = roleCatalog;
+        this.permissionMatrix = permissionMatrix;
+        this.pageCounter = pageCounter;
+        this.channel = channel;
+        this.pollMillis = pollMillis;
+        this.enabled = enabled && dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Cluster cache invalidation disabled, caches only see writes made on this node");
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("cache-invalidation").start(this::listen);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(listenConnection);
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Announce a write to the current transaction's topic: queued as a NOTIFY that other nodes
+     * receive on commit, and the local Hibernate regions are evicted after commit, which also
+     * covers writes that bypassed Hibernate through plain JDBC
+     */
+    public void publish(Topic topic) {
+        if (enabled) {
+            jdbcTemplate.query("select pg_notify(?, ?)", rs -> null, channel, nodeId + ":" + topic.name());
+            published.increment();
+        }
+        TransactionUtil.afterCommit(() -> evictRegions(topic));
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                listenConnection = connection;
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                if (connectedBefore) {
+                    // Notifications sent while disconnected are lost, refresh everything once
+                    reconnects.increment();
+                    for (Topic topic : Topic.values()) {
+                        handle(topic);
+                    }
+                    log.info("Cache invalidation listener reconnected");
+                }
+                connectedBefore = true;
+
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollMillis);
+                    if (notifications == null || notifications.length == 0) {
+                        if (!connection.isValid(5)) {
+                            throw new SQLException("Listen connection is no longer valid");
+                        }
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        onNotification(notification.getParameter());
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener failed, retrying in {} ms: {}", pollMillis, e.getMessage());
+                sleep();
+            }
+        }
+    }
+
+    private void onNotification(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        received.increment();
+        try {
+            handle(Topic.valueOf(payload.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring unknown cache invalidation topic '{}'", payload);
+        }
+    }
+
+    private void handle(Topic topic) {
+        evictRegions(topic);
+        switch (topic) {
+            case MENUS -> {
+                pageCounter.invalidate(MENU_COUNT_REGION);
+                permissionMatrix.reload();
+            }
+            case ROLES -> {
+                roleCatalog.reload();
+                permissionMatrix.reload();
+            }
+            case GRANTS -> permissionMatrix.reload();
+        }
+    }
+
+    private void evictRegions(Topic topic) {
+        switch (topic) {
+            case MENUS -> {
+                sessionFactory.getCache().evictEntityData(Menus.class);
+                sessionFactory.getCache().evictQueryRegion(MENU_QUERY_REGION);
+            }
+            case ROLES -> sessionFactory.getCache().evictEntityData(Roles.class);
+            case GRANTS -> {
+                // Grants are not cached by Hibernate, only the permission matrix holds them
+            }
+        }
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(pollMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Shutting down anyway
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getPublished() {
+        return published.sum();
+    }
+
+    public long getReceived() {
+        return received.sum();
+    }
+
+    public long getReconnects() {
+        return reconnects.sum();
+    }
+}
@@ -0,0 +1,175 @@
+package id.kai.eraport.common.cache;
+
+import id.kai.eraport.common.util.DataSourceRouting;
+import id.kai.eraport.common.util.TransactionUtil;
+import id.kai.eraport.configuration.PermissionProperties;
+import id.kai.eraport.dto.role.RoleDetail;
+import id.kai.eraport.dto.role.RoleMenuGrant;
+import id.kai.eraport.model.Menus;
+import id.kai.eraport.repository.db.MenuRepository;
+import id.kai.eraport.repository.db.RoleMenuRepository;
+import id.kai.eraport.repository.db.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Role to menu grants compiled into one bitset per role, indexed by a dense menu ordinal
+ * The compiled snapshot is immutable and replaced as a whole, so checks take no lock,
+ * touch no database and allocate nothing
+ */
+@Component
+public class PermissionMatrix {
+    private static final Logger log = LoggerFactory.getLogger(PermissionMatrix.class);
+
+    private final MenuRepository menuRepository;
+    private final RoleRepository roleRepository;
+    private final RoleMenuRepository roleMenuRepository;
+    private final PermissionProperties properties;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of(), Set.of(), Map.of(), null);
+
+    public PermissionMatrix(MenuRepository menuRepository, RoleRepository roleRepository,
+                            RoleMenuRepository roleMenuRepository, PermissionProperties properties) {
+        this.menuRepository = menuRepository;
+        this.roleRepository = roleRepository;
+        this.roleMenuRepository = roleMenuRepository;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    /**
+     * Check whether a role is granted a menu
+     *
+     * @param roleId   Role of the caller
+     * @param menuName Menu guarding the endpoint
+     * @return true for admin roles and for roles granted the menu
+     */
+    public boolean isAllowed(UUID roleId, String menuName) {
+        Snapshot current = snapshot;
+        if (roleId == null) {
+            return false;
+        }
+        if (current.adminRoles().contains(roleId)) {
+            return true;
+        }
+
+        Integer ordinal = current.menuOrdinals().get(menuName);
+        long[] bits = current.roleBits().get(roleId);
+        if (ordinal == null || bits == null) {
+            return false;
+        }
+
+        int index = ordinal;
+        return (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Admin role currently holding a name, compared case-insensitively
+     * Role writes must not copy it, a look-alike role would mislead whoever assigns roles
+     *
+     * @return Id of the admin role, or null when no admin role has that name
+     */
+    public UUID findAdminRoleByName(String roleName) {
+        return roleName == null ? null : snapshot.adminRoleNames().get(normalize(roleName));
+    }
+
+    /**
+     * @return Id of the role self-registered users get, or null when self-registration is disabled
+     */
+    public UUID getRegistrationRole() {
+        return snapshot.registrationRole();
+    }
+
+    /**
+     * Recompile once the surrounding transaction commits, call after any change to roles, menus or grants
+     */
+    public void reloadAfterCommit() {
+        TransactionUtil.afterCommit(this::reload);
+    }
+
+    @Scheduled(fixedDelayString = "${permission.refresh-interval-ms:60000}",
+            initialDelayString = "${permission.refresh-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Permission matrix refresh failed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void reload() {
+        // Always from the primary, a lagging replica could roll the matrix back past a local commit
+        DataSourceRouting.onPrimary(this::compile);
+    }
+
+    private void compile() {
+        List<Menus> menus = menuRepository.findAllByIsDeletedFalse(Sort.by("id"));
+        Map<UUID, Integer> ordinalById = new HashMap<>(menus.size() * 2);
+        Map<String, Integer> ordinalByName = new HashMap<>(menus.size() * 2);
+        for (Menus menu : menus) {
+            int ordinal = ordinalById.size();
+            ordinalById.put(menu.getId(), ordinal);
+            if (menu.getName() != null && ordinalByName.putIfAbsent(menu.getName(), ordinal) != null) {
+                log.warn("Duplicate menu name '{}', permission rules use the first one", menu.getName());
+            }
+        }
+
+        int words = (menus.size() + 63) >>> 6;
+        Map<UUID, long[]> roleBits = new HashMap<>();
+        for (RoleMenuGrant grant : roleMenuRepository.findActiveGrants()) {
+            Integer ordinal = ordinalById.get(grant.menuId());
+            if (ordinal == null) {
+                continue;
+            }
+            long[] bits = roleBits.computeIfAbsent(grant.roleId(), id -> new long[words]);
+            bits[ordinal >>> 6] |= 1L << ordinal;
+        }
+
+        Set<UUID> adminRoles = new HashSet<>(roleRepository.findAdminIds());
+        Map<String, UUID> adminRoleNames = new HashMap<>();
+        UUID registrationRole = null;
+        String registrationRoleName = properties.getRegistrationRole();
+        for (RoleDetail role : roleRepository.findAllDetails()) {
+            if (adminRoles.contains(role.id())) {
+                if (role.roleName() != null) {
+                    adminRoleNames.put(normalize(role.roleName()), role.id());
+                }
+            } else if (registrationRoleName != null && registrationRoleName.equalsIgnoreCase(role.roleName())) {
+                registrationRole = role.id();
+            }
+        }
+        if (registrationRoleName != null && !registrationRoleName.isBlank() && registrationRole == null) {
+            log.warn("Registration role '{}' is unknown or an admin role, self-registration is disabled",
+                    registrationRoleName);
+        }
+
+        for (PermissionProperties.Rule rule : properties.getRules()) {
+            if (rule.getMenu() != null && !rule.getMenu().isBlank() && !ordinalByName.containsKey(rule.getMenu())) {
+                log.warn("Permission rule '{}' refers to unknown menu '{}', only admin roles pass it",
+                        rule.getName(), rule.getMenu());
+            }
+        }
+
+        snapshot = new Snapshot(Map.copyOf(ordinalByName), Map.copyOf(roleBits), Set.copyOf(adminRoles),
+                Map.copyOf(adminRoleNames), registrationRole);
+        log.debug("Permission matrix compiled: {} menus, {} roles with grants", menus.size(), roleBits.size());
+    }
+
+    private static String normalize(String roleName) {
+        return roleName.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(Map<String, Integer> menuOrdinals, Map<UUID, long[]> roleBits, Set<UUID> adminRoles,
+                            Map<String, UUID> adminRoleNames, UUID registrationRole) {
+    }
+}
@@ -0,0 +1,108 @@
+package id.kai.eraport.common.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory index of revoked token families
+ * A Bloom filter answers the common "not revoked" case with a few array reads,
+ * the exact map confirms positives and holds each entry until it can no longer matter
+ */
+public class RevocationIndex {
+    private static final int HASH_FUNCTIONS = 7;
+
+    private final int bloomBits;
+    private final Map<UUID, Long> revoked = new ConcurrentHashMap<>();
+    private volatile AtomicLongArray bloom;
+
+    /**
+     * @param expectedEntries Number of concurrently revoked families the filter is sized for (~1% false positives)
+     */
+    public RevocationIndex(int expectedEntries) {
+        // m = -n ln(p) / ln(2)^2 with p = 0.01 is about 9.6 bits per entry
+        long bits = Math.max(1024L, (long) Math.ceil(expectedEntries * 9.6));
+        this.bloomBits = (int) Math.min(Integer.MAX_VALUE - 63, bits);
+        this.bloom = new AtomicLongArray((bloomBits + 63) / 64);
+    }
+
+    /**
+     * @param familyId  Revoked token family
+     * @param expiresAt Epoch millis after which no token of the family can be valid anymore
+     */
+    public synchronized void revoke(UUID familyId, long expiresAt) {
+        revoked.merge(familyId, expiresAt, Math::max);
+        addToBloom(bloom, familyId);
+    }
+
+    public boolean isRevoked(UUID familyId) {
+        if (familyId == null || !mightContain(bloom, familyId)) {
+            return false;
+        }
+
+        Long expiresAt = revoked.get(familyId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Drop expired entries and rebuild the Bloom filter without them
+     * Synchronized with revoke so no revocation can be missed by the new filter
+     */
+    public synchronized void compact() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<UUID, Long>> iterator = revoked.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue() <= now) {
+                iterator.remove();
+            }
+        }
+
+        AtomicLongArray rebuilt = new AtomicLongArray(bloom.length());
+        for (UUID familyId : revoked.keySet()) {
+            addToBloom(rebuilt, familyId);
+        }
+        bloom = rebuilt;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    private void addToBloom(AtomicLongArray target, UUID familyId) {
+        long h1 = mix(familyId.getMostSignificantBits());
+        long h2 = mix(familyId.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bloomBits);
+            int index = bit >>> 6;
+            long mask = 1L << (bit & 63);
+            long current;
+            do {
+                current = target.get(index);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!target.compareAndSet(index, current, current | mask));
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray target, UUID familyId) {
+        long h1 = mix(familyId.getMostSignificantBits());
+        long h2 = mix(familyId.getLeastSignificantBits()) | 1L;
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            int bit = (int) Math.floorMod(h1 + i * h2, (long) bloomBits);
+            if ((target.get(bit >>> 6) & (1L << (bit & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Stafford variant 13 of the SplitMix64 finalizer, random UUIDs are already well mixed but ids may not be
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
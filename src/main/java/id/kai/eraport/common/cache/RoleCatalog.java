@@ -0,0 +1,185 @@
+package id.kai.eraport.common.cache;
+
+import id.kai.eraport.common.pagination.Cursor;
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.common.pagination.KeyType;
+import id.kai.eraport.common.pagination.SortField;
+import id.kai.eraport.common.pagination.SortFields;
+import id.kai.eraport.common.util.DataSourceRouting;
+import id.kai.eraport.common.util.TransactionUtil;
+import id.kai.eraport.dto.role.RoleDetail;
+import id.kai.eraport.model.Roles;
+import id.kai.eraport.repository.db.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Immutable snapshot of all active roles, replaced atomically on every change
+ * Reads never lock and never touch the database. Writes on this node are applied after their
+ * transaction commits, changes made by other nodes arrive with the periodic reconciliation
+ */
+@Component
+public class RoleCatalog {
+    private static final Logger log = LoggerFactory.getLogger(RoleCatalog.class);
+
+    private final RoleRepository roleRepository;
+    private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+    public RoleCatalog(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @PostConstruct
+    public void init() {
+        reload();
+    }
+
+    public Optional<RoleDetail> findById(UUID id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    public boolean exists(UUID id) {
+        return id != null && snapshot.byId().containsKey(id);
+    }
+
+    /**
+     * Same result as RoleRepository.findAllByIsDeletedFalse(PageRequest.of(page, size, Sort.by(sortBy)))
+     */
+    public Page<RoleDetail> findAll(int page, int size, String sortBy) {
+        SortField<RoleDetail> field = SortFields.resolve(SortFields.ROLES, sortBy);
+        List<RoleDetail> sorted = snapshot.sorted().get(field.name());
+
+        int from = (int) Math.min((long) page * size, sorted.size());
+        int to = Math.min(from + size, sorted.size());
+        return new PageImpl<>(sorted.subList(from, to), PageRequest.of(page, size, Sort.by(sortBy)), sorted.size());
+    }
+
+    /**
+     * Keyset page over the snapshot ordered by (sortBy, id), the same order the database seek uses
+     *
+     * @param sortBy Whitelisted sort field
+     * @param after  Cursor token from the previous page, or null for the first page
+     * @param size   Page size
+     */
+    public CursorPage<RoleDetail> findAfter(String sortBy, String after, int size) {
+        SortField<RoleDetail> field = SortFields.resolve(SortFields.ROLES, sortBy);
+        List<RoleDetail> sorted = snapshot.sorted().get(field.name());
+
+        int from = 0;
+        if (after != null) {
+            Cursor cursor = Cursor.decode(after, field);
+            int low = 0;
+            int high = sorted.size();
+            // First row positioned after the cursor
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compareToCursor(field, sorted.get(mid), cursor) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            from = low;
+        }
+
+        int to = Math.min(from + size, sorted.size());
+        List<RoleDetail> content = sorted.subList(from, to);
+        if (to == sorted.size()) {
+            return new CursorPage<>(content, size, null);
+        }
+
+        RoleDetail last = content.get(content.size() - 1);
+        return new CursorPage<>(content, size, Cursor.after(field, last, last.id()).encode(field));
+    }
+
+    /**
+     * Apply a created or updated role once the surrounding transaction commits
+     */
+    public void putAfterCommit(Roles role) {
+        RoleDetail detail = RoleDetail.from(role);
+        boolean deleted = role.isDeleted();
+        TransactionUtil.afterCommit(() -> apply(detail.id(), deleted ? null : detail));
+    }
+
+    public void putAfterCommit(RoleDetail detail) {
+        TransactionUtil.afterCommit(() -> apply(detail.id(), detail));
+    }
+
+    /**
+     * Full reload once the surrounding transaction commits, for changes the caller cannot describe
+     */
+    public void reloadAfterCommit() {
+        TransactionUtil.afterCommit(this::reload);
+    }
+
+    public void removeAfterCommit(UUID id) {
+        TransactionUtil.afterCommit(() -> apply(id, null));
+    }
+
+    @Scheduled(fixedDelayString = "${role-catalog.refresh-interval-ms:60000}",
+            initialDelayString = "${role-catalog.refresh-interval-ms:60000}")
+    public void reconcile() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Role catalog refresh failed, keeping the previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    // Serialized with apply() so a commit landing during the query is not overwritten by the older result
+    public synchronized void reload() {
+        // Always from the primary, a lagging replica could roll the snapshot back past a local commit
+        List<RoleDetail> roles = DataSourceRouting.onPrimary(roleRepository::findAllDetails);
+        snapshot = Snapshot.of(roles);
+        log.debug("Role catalog loaded {} roles", roles.size());
+    }
+
+    public int size() {
+        return snapshot.byId().size();
+    }
+
+    private synchronized void apply(UUID id, RoleDetail role) {
+        Map<UUID, RoleDetail> next = new HashMap<>(snapshot.byId());
+        if (role == null) {
+            next.remove(id);
+        } else {
+            next.put(id, role);
+        }
+        snapshot = Snapshot.of(next.values());
+    }
+
+    private static int compareToCursor(SortField<RoleDetail> field, RoleDetail role, Cursor cursor) {
+        int result = field.compareKeys(field.keyOf(role), cursor.key());
+        return result != 0 ? result : KeyType.UUID_KEY.compare(role.id(), cursor.id());
+    }
+
+    private static Comparator<RoleDetail> order(SortField<RoleDetail> field) {
+        return field.comparator().thenComparing((a, b) -> KeyType.UUID_KEY.compare(a.id(), b.id()));
+    }
+
+    private record Snapshot(Map<UUID, RoleDetail> byId, Map<String, List<RoleDetail>> sorted) {
+        static Snapshot of(Collection<RoleDetail> roles) {
+            Map<UUID, RoleDetail> byId = new HashMap<>();
+            for (RoleDetail role : roles) {
+                byId.put(role.id(), role);
+            }
+
+            Map<String, List<RoleDetail>> sorted = new HashMap<>();
+            for (SortField<RoleDetail> field : SortFields.ROLES.values()) {
+                List<RoleDetail> list = new ArrayList<>(byId.values());
+                list.sort(order(field));
+                sorted.put(field.name(), List.copyOf(list));
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(sorted));
+        }
+    }
+}
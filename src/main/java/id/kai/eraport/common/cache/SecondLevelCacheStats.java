@@ -0,0 +1,55 @@
+package id.kai.eraport.common.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hit ratios of the Hibernate second-level cache and query cache regions
+ * Counters come from Hibernate statistics, which need hibernate.generate_statistics=true
+ */
+@Component
+public class SecondLevelCacheStats {
+    private final Statistics statistics;
+
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<RegionStats> getRegions() {
+        List<RegionStats> regions = new ArrayList<>();
+        for (String name : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+            if (region != null) {
+                regions.add(RegionStats.of(region));
+            }
+        }
+        return regions;
+    }
+
+    public RegionStats getRegion(String name) {
+        CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+        return region == null ? null : RegionStats.of(region);
+    }
+
+    /**
+     * Counters of one region, size is -1 when the cache provider does not report it
+     */
+    public record RegionStats(String name, long hits, long misses, long puts, long size) {
+        static RegionStats of(CacheRegionStatistics region) {
+            long size = region.getElementCountInMemory();
+            return new RegionStats(region.getRegionName(), region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), size < 0 ? -1 : size);
+        }
+
+        public double hitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
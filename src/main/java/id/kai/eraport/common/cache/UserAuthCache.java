@@ -0,0 +1,119 @@
+package id.kai.eraport.common.cache;
+
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded, TTL-evicting cache of the user fields needed to mint tokens, keyed by email
+ * The password hash is never cached, login reads it from the database when it needs it.
+ * Other nodes do not see invalidations, the TTL bounds how long they can serve a stale entry
+ * Expired entries are swept on a schedule, while the cache is full new users are simply not cached
+ */
+@Component
+public class UserAuthCache {
+    private final ConcurrentHashMap<String, Entry> entries;
+    private final long ttlMillis;
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public UserAuthCache(@Value("${user-cache.ttl-ms:300000}") long ttlMillis,
+                         @Value("${user-cache.max-entries:50000}") int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxEntries, 1024));
+    }
+
+    /**
+     * Read-through lookup
+     *
+     * @param email  User email
+     * @param loader Called on a miss, may return null when the user does not exist
+     * @return Cached or freshly loaded user, null when the loader found nothing
+     */
+    public JwtUserInfo get(String email, Function<String, JwtUserInfo> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt > now) {
+            hits.increment();
+            return entry.user;
+        }
+
+        misses.increment();
+        JwtUserInfo user = loader.apply(email);
+        if (user != null) {
+            put(user, now);
+        }
+        return user;
+    }
+
+    public void put(JwtUserInfo user) {
+        put(user, System.currentTimeMillis());
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            entries.remove(email);
+        }
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void put(JwtUserInfo user, long now) {
+        if (entries.size() >= maxEntries && !entries.containsKey(user.getEmail())) {
+            return;
+        }
+        entries.put(user.getEmail(), new Entry(user, now + ttlMillis));
+    }
+
+    @Scheduled(fixedDelayString = "${user-cache.sweep-interval-ms:60000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().expiresAt <= now) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    private record Entry(JwtUserInfo user, long expiresAt) {
+    }
+}
@@ -0,0 +1,176 @@
+package id.kai.eraport.common.cache;
+
+import id.kai.eraport.dto.auth.JwtAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of authentications built from tokens that already passed signature verification
+ * Entries are keyed by a SHA-256 digest of the raw token and expire at the token's exp claim
+ * Expired entries are swept on a schedule, never on the request path
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final ConcurrentHashMap<TokenKey, Entry> entries;
+    private final int maxEntries;
+    private final boolean enabled;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder rejectedPuts = new LongAdder();
+
+    public VerifiedTokenCache(@Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-entries:10000}") int maxEntries) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxEntries, 1024));
+    }
+
+    /**
+     * Compute the cache key for a raw token
+     *
+     * @param token Raw compact JWT
+     * @return 128-bit digest key
+     */
+    public TokenKey keyOf(String token) {
+        MessageDigest digest = SHA_256.get();
+        byte[] hash = digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer buffer = ByteBuffer.wrap(hash);
+        return new TokenKey(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Lookup a verified authentication
+     *
+     * @param key Token digest key
+     * @return Authentication, or null when absent or expired
+     */
+    public JwtAuthenticationToken get(TokenKey key) {
+        if (!enabled) {
+            return null;
+        }
+
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+
+        if (entry.expiresAt <= System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            expirations.increment();
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return entry.authentication;
+    }
+
+    /**
+     * Store an authentication whose token has just been verified
+     * Tokens without an exp claim are never cached, and nothing is cached while the cache is full
+     *
+     * @param key            Token digest key
+     * @param authentication Authentication built from the verified claims
+     */
+    public void put(TokenKey key, JwtAuthenticationToken authentication) {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        long expiresAt = authentication.getExpiresAt();
+        if (expiresAt <= now) {
+            return;
+        }
+
+        if (entries.size() >= maxEntries) {
+            rejectedPuts.increment();
+            return;
+        }
+
+        entries.put(key, new Entry(authentication, expiresAt));
+    }
+
+    /**
+     * Drop a single token, e.g. after it has been revoked
+     *
+     * @param key Token digest key
+     */
+    public void invalidate(TokenKey key) {
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.cache.sweep-interval-ms:30000}")
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<TokenKey, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().expiresAt <= now) {
+                iterator.remove();
+                expirations.increment();
+            }
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getExpirations() {
+        return expirations.sum();
+    }
+
+    public long getRejectedPuts() {
+        return rejectedPuts.sum();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    public double getHitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    /**
+     * First 128 bits of the SHA-256 digest of a token
+     */
+    public record TokenKey(long high, long low) {
+    }
+
+    private record Entry(JwtAuthenticationToken authentication, long expiresAt) {
+    }
+}
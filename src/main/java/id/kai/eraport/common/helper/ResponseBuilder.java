@@ -1,8 +1,11 @@
 package id.kai.eraport.common.helper;
 
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.common.pagination.EstimatedPage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import id.kai.eraport.common.response.ApiResponse;
@@ -30,7 +33,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 200 OK
      */
     public static <T> ResponseEntity<ApiResponse<T>> ok(T data, String message) {
-        log.info("✅ Success: {}", message);
         return ResponseEntity.ok(ApiResponse.success(data, message));
     }
 
@@ -41,7 +43,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 200 OK
      */
     public static ResponseEntity<ApiResponse<Object>> ok(String message) {
-        log.info("✅ Success: {}", message);
         return ResponseEntity.ok(ApiResponse.success(null, message));
     }
 
@@ -53,7 +54,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 201 CREATED
      */
     public static <T> ResponseEntity<ApiResponse<T>> created(T data, String message) {
-        log.info("✅ Created: {}", message);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(data, message));
     }
@@ -65,7 +65,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 201 CREATED
      */
     public static ResponseEntity<ApiResponse<Object>> created(String message) {
-        log.info("✅ Created: {}", message);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success(null, message));
     }
@@ -77,7 +76,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 202 ACCEPTED
      */
     public static ResponseEntity<ApiResponse<Object>> accepted(String message) {
-        log.info("✅ Accepted: {}", message);
         return ResponseEntity.status(HttpStatus.ACCEPTED)
                 .body(ApiResponse.success(null, message));
     }
@@ -89,7 +87,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 204 NO CONTENT
      */
     public static ResponseEntity<Void> noContent() {
-        log.info("✅ No content response");
         return ResponseEntity.noContent().build();
     }
 
@@ -104,9 +101,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with paginated data
      */
     public static <T> ResponseEntity<ApiResponse<List<T>>> paginated(Page<T> pageData, String message) {
-        log.info("✅ Paginated response: {} (page: {}, size: {}, total: {})",
-                message, pageData.getNumber() + 1, pageData.getSize(), pageData.getTotalElements());
-
         long currentPage = pageData.getNumber() + 1; // Convert 0-indexed to 1-indexed
         long totalPages = pageData.getTotalPages();
 
@@ -127,6 +121,41 @@ public class ResponseBuilder {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Build paginated response from a Slice
+     * Pages keep their totals (flagged when estimated), plain slices only report hasNext
+     * Page number starts from 1 (not 0)
+     *
+     * @param sliceData Spring Data Slice or Page object
+     * @param message   Success message
+     * @return ResponseEntity with paginated data
+     */
+    public static <T> ResponseEntity<ApiResponse<List<T>>> paginated(Slice<T> sliceData, String message) {
+        if (sliceData instanceof Page<T> pageData) {
+            ResponseEntity<ApiResponse<List<T>>> response = paginated(pageData, message);
+            if (pageData instanceof EstimatedPage<T>) {
+                response.getBody().setTotalEstimated(true);
+            }
+            return response;
+        }
+
+        long currentPage = sliceData.getNumber() + 1; // Convert 0-indexed to 1-indexed
+
+        ApiResponse<List<T>> response = ApiResponse.<List<T>>builder()
+                .status(true)
+                .message(message)
+                .result(sliceData.getContent())
+                .page(currentPage)
+                .size((long) sliceData.getSize())
+                .hasNext(sliceData.hasNext())
+                .hasPrevious(sliceData.hasPrevious())
+                .isFirst(sliceData.isFirst())
+                .isLast(sliceData.isLast())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Build paginated response with custom total count
      * Page number starts from 1 (not 0)
@@ -137,9 +166,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with paginated data
      */
     public static <T> ResponseEntity<ApiResponse<List<T>>> paginated(Page<T> pageData, long total, String message) {
-        log.info("✅ Paginated response: {} (page: {}, size: {}, total: {})",
-                message, pageData.getNumber() + 1, pageData.getSize(), total);
-
         long currentPage = pageData.getNumber() + 1; // Convert 0-indexed to 1-indexed
         long totalPages = pageData.getTotalPages();
 
@@ -173,10 +199,7 @@ public class ResponseBuilder {
      */
     public static <T> ResponseEntity<ApiResponse<List<T>>> paginated(
             List<T> data, int page, int size, long total, String message) {
-
         long totalPages = size > 0 ? (long) Math.ceil((double) total / size) : 0;
-        log.info("✅ Paginated response: {} (page: {}, size: {}, total: {})",
-                message, page, size, total);
 
         ApiResponse<List<T>> response = ApiResponse.<List<T>>builder()
                 .status(true)
@@ -195,6 +218,28 @@ public class ResponseBuilder {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Build keyset paginated response
+     * Carries nextCursor instead of page numbers and totals
+     *
+     * @param pageData Keyset page
+     * @param message  Success message
+     * @return ResponseEntity with paginated data
+     */
+    public static <T> ResponseEntity<ApiResponse<List<T>>> cursorPaginated(CursorPage<T> pageData, String message) {
+        ApiResponse<List<T>> response = ApiResponse.<List<T>>builder()
+                .status(true)
+                .message(message)
+                .result(pageData.content())
+                .size((long) pageData.size())
+                .hasNext(pageData.hasNext())
+                .isLast(!pageData.hasNext())
+                .nextCursor(pageData.nextCursor())
+                .build();
+
+        return ResponseEntity.ok(response);
+    }
+
     // ==================== ERROR RESPONSES ====================
 
     /**
@@ -204,7 +249,7 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 500 INTERNAL SERVER ERROR
      */
     public static ResponseEntity<ApiResponse<Object>> error(Exception e) {
-        log.error("❌ Internal error: {}", e.getMessage(), e);
+        log.error("Internal error: {}", e.getMessage(), e);
         return error("An unexpected error occurred", HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -216,10 +261,11 @@ public class ResponseBuilder {
      * @return ResponseEntity with specified status
      */
     public static ResponseEntity<ApiResponse<Object>> error(String message, HttpStatus status) {
+        // Client errors are routine (and cheap to provoke), they are only logged at debug
         if (status.is5xxServerError()) {
-            log.error("❌ Error ({}): {}", status.value(), message);
+            log.error("Error ({}): {}", status.value(), message);
         } else {
-            log.warn("⚠️ Client error ({}): {}", status.value(), message);
+            log.debug("Client error ({}): {}", status.value(), message);
         }
 
         ApiResponse<Object> response = ApiResponse.builder()
@@ -238,7 +284,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 400 BAD REQUEST
      */
     public static ResponseEntity<ApiResponse<Object>> badRequest(String message) {
-        log.warn("⚠️ Bad request: {}", message);
         return error(message, HttpStatus.BAD_REQUEST);
     }
 
@@ -249,7 +294,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 401 UNAUTHORIZED
      */
     public static ResponseEntity<ApiResponse<Object>> unauthorized(String message) {
-        log.warn("⚠️ Unauthorized: {}", message);
         return error(message, HttpStatus.UNAUTHORIZED);
     }
 
@@ -260,7 +304,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 403 FORBIDDEN
      */
     public static ResponseEntity<ApiResponse<Object>> forbidden(String message) {
-        log.warn("⚠️ Forbidden: {}", message);
         return error(message, HttpStatus.FORBIDDEN);
     }
 
@@ -271,7 +314,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 404 NOT FOUND
      */
     public static ResponseEntity<ApiResponse<Object>> notFound(String message) {
-        log.warn("⚠️ Not found: {}", message);
         return error(message, HttpStatus.NOT_FOUND);
     }
 
@@ -283,7 +325,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 409 CONFLICT
      */
     public static ResponseEntity<ApiResponse<Object>> conflict(String message) {
-        log.warn("⚠️ Conflict: {}", message);
         return error(message, HttpStatus.CONFLICT);
     }
 
@@ -295,7 +336,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 422 UNPROCESSABLE ENTITY
      */
     public static ResponseEntity<ApiResponse<Object>> unprocessableEntity(String message) {
-        log.warn("⚠️ Unprocessable entity: {}", message);
         return error(message, HttpStatus.UNPROCESSABLE_ENTITY);
     }
 
@@ -306,7 +346,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 500 INTERNAL SERVER ERROR
      */
     public static ResponseEntity<ApiResponse<Object>> internalError(String message) {
-        log.error("❌ Internal server error: {}", message);
         return error(message, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
@@ -317,7 +356,6 @@ public class ResponseBuilder {
      * @return ResponseEntity with HTTP 503 SERVICE UNAVAILABLE
      */
     public static ResponseEntity<ApiResponse<Object>> serviceUnavailable(String message) {
-        log.error("❌ Service unavailable: {}", message);
         return error(message, HttpStatus.SERVICE_UNAVAILABLE);
     }
 }
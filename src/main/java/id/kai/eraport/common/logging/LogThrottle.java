@@ -0,0 +1,40 @@
+package id.kai.eraport.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets a hot-path log statement through at most once per interval
+ * Events in between are only counted, the next permitted line reports how many were suppressed
+ */
+public class LogThrottle {
+    private final long intervalNanos;
+    private final AtomicLong nextAllowedAt;
+    private final LongAdder suppressed = new LongAdder();
+    private final LongAdder total = new LongAdder();
+
+    public LogThrottle(long intervalMillis) {
+        this.intervalNanos = intervalMillis * 1_000_000L;
+        this.nextAllowedAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Record one event and decide whether it may be logged
+     *
+     * @return Number of events suppressed since the last permitted one, or -1 when this one is suppressed too
+     */
+    public long tryAcquire() {
+        total.increment();
+        long now = System.nanoTime();
+        long allowedAt = nextAllowedAt.get();
+        if (now - allowedAt < 0 || !nextAllowedAt.compareAndSet(allowedAt, now + intervalNanos)) {
+            suppressed.increment();
+            return -1;
+        }
+        return suppressed.sumThenReset();
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+}
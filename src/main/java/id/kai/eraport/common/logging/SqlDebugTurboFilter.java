@@ -0,0 +1,41 @@
+package id.kai.eraport.common.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that opens the SQL loggers for a single request
+ * When the request's MDC carries {@link #MDC_KEY} (set by RequestLoggingFilter), debug and trace
+ * events of the configured loggers pass regardless of their level, every other request stays quiet
+ */
+public class SqlDebugTurboFilter extends TurboFilter {
+    public static final String MDC_KEY = "sqlDebug";
+
+    private String[] loggers = {"org.hibernate.SQL", "org.hibernate.orm.jdbc.bind"};
+
+    /**
+     * @param loggers Comma separated logger name prefixes, e.g. org.hibernate.SQL,org.hibernate.orm.jdbc.bind
+     */
+    public void setLoggers(String loggers) {
+        this.loggers = loggers.trim().split("\\s*,\\s*");
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level.isGreaterOrEqual(Level.INFO) || MDC.get(MDC_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String name = logger.getName();
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,26 @@
+package id.kai.eraport.common.pagination;
+
+/**
+ * How a paginated listing obtains its total, chosen per request with the count parameter
+ */
+public enum CountMode {
+    /**
+     * count(*) on every request
+     */
+    EXACT,
+
+    /**
+     * Exact count kept in memory, invalidated on writes and bounded by a TTL
+     */
+    CACHED,
+
+    /**
+     * PostgreSQL planner row estimate, exact below a configurable threshold
+     */
+    ESTIMATE,
+
+    /**
+     * No total at all, hasNext comes from fetching one extra row
+     */
+    NONE
+}
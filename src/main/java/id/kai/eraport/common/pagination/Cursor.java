@@ -0,0 +1,61 @@
+package id.kai.eraport.common.pagination;
+
+import id.kai.eraport.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position after the last row of a keyset page: its sort key and id
+ * Travels to the client as an opaque URL safe token, bound to the sort field it was issued for
+ *
+ * @param sortBy Sort field the cursor was issued for
+ * @param key    Sort key of the last row, may be null
+ * @param id     Id of the last row, breaks ties between equal keys
+ */
+public record Cursor(String sortBy, Object key, UUID id) {
+    private static final char SEPARATOR = '\n';
+
+    public static <T> Cursor after(SortField<T> field, T row, UUID id) {
+        return new Cursor(field.name(), field.keyOf(row), id);
+    }
+
+    public String encode(SortField<?> field) {
+        String keyPart = key == null ? "" : "=" + field.type().format(key);
+        String raw = sortBy + SEPARATOR + keyPart + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token issued by {@link #encode(SortField)}
+     *
+     * @param token Token from the after parameter
+     * @param field Sort field of the current request
+     * @return Decoded cursor
+     * @throws BadRequestException when the token is malformed or was issued for another sort field
+     */
+    public static Cursor decode(String token, SortField<?> field) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int last = raw.lastIndexOf(SEPARATOR);
+            if (first < 0 || first == last) {
+                throw new IllegalArgumentException("Missing cursor parts");
+            }
+
+            String sortBy = raw.substring(0, first);
+            if (!sortBy.equals(field.name())) {
+                throw new BadRequestException("Cursor was issued for another sort field");
+            }
+
+            String keyPart = raw.substring(first + 1, last);
+            Object key = keyPart.isEmpty() ? null : field.type().parse(keyPart.substring(1));
+            return new Cursor(sortBy, key, UUID.fromString(raw.substring(last + 1)));
+        } catch (BadRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package id.kai.eraport.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One keyset page, nextCursor is null on the last page
+ */
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), size, nextCursor);
+    }
+}
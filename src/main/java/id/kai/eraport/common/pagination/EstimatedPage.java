@@ -0,0 +1,15 @@
+package id.kai.eraport.common.pagination;
+
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+/**
+ * Page whose total comes from the query planner rather than an exact count
+ */
+public class EstimatedPage<T> extends PageImpl<T> {
+    public EstimatedPage(List<T> content, Pageable pageable, long total) {
+        super(content, pageable, total);
+    }
+}
@@ -0,0 +1,77 @@
+package id.kai.eraport.common.pagination;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Type of a sort key, defines how it travels inside a cursor and how PostgreSQL orders it
+ */
+public enum KeyType {
+    UUID_KEY {
+        @Override
+        public Object parse(String value) {
+            return UUID.fromString(value);
+        }
+
+        @Override
+        public int compare(Object a, Object b) {
+            // PostgreSQL compares uuid values as unsigned bytes, UUID.compareTo uses signed longs
+            UUID left = (UUID) a;
+            UUID right = (UUID) b;
+            int result = Long.compareUnsigned(left.getMostSignificantBits(), right.getMostSignificantBits());
+            return result != 0 ? result
+                    : Long.compareUnsigned(left.getLeastSignificantBits(), right.getLeastSignificantBits());
+        }
+    },
+    STRING {
+        @Override
+        public Object parse(String value) {
+            return value;
+        }
+
+        @Override
+        public int compare(Object a, Object b) {
+            // Code point order, the order of PostgreSQL's "C" collation (roles.role_name, see V5).
+            // String.compareTo compares UTF-16 units and puts supplementary characters before U+E000..U+FFFF
+            String left = (String) a;
+            String right = (String) b;
+            int i = 0;
+            int j = 0;
+            while (i < left.length() && j < right.length()) {
+                int l = left.codePointAt(i);
+                int r = right.codePointAt(j);
+                if (l != r) {
+                    return Integer.compare(l, r);
+                }
+                i += Character.charCount(l);
+                j += Character.charCount(r);
+            }
+            return Integer.compare(left.length() - i, right.length() - j);
+        }
+    },
+    TIMESTAMP {
+        @Override
+        public Object parse(String value) {
+            return Timestamp.from(Instant.parse(value));
+        }
+
+        @Override
+        public String format(Object value) {
+            return ((Timestamp) value).toInstant().toString();
+        }
+
+        @Override
+        public int compare(Object a, Object b) {
+            return ((Timestamp) a).compareTo((Timestamp) b);
+        }
+    };
+
+    public abstract Object parse(String value);
+
+    public abstract int compare(Object a, Object b);
+
+    public String format(Object value) {
+        return value.toString();
+    }
+}
@@ -0,0 +1,155 @@
+package id.kai.eraport.common.pagination;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.kai.eraport.common.util.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Turns a count-free slice query into a page according to the requested CountMode
+ * Data is always fetched as a Slice (size + 1 rows, no count query); the total is then
+ * counted, served from cache, estimated by the planner or left out
+ */
+@Component
+public class PageCounter {
+    private static final Logger log = LoggerFactory.getLogger(PageCounter.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final long ttlMillis;
+    private final long estimateThreshold;
+
+    private final ConcurrentHashMap<String, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder exactCounts = new LongAdder();
+    private final LongAdder cachedCounts = new LongAdder();
+    private final LongAdder estimatedCounts = new LongAdder();
+    private final LongAdder skippedCounts = new LongAdder();
+
+    public PageCounter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                       @Value("${pagination.count.cache-ttl-ms:60000}") long ttlMillis,
+                       @Value("${pagination.count.estimate-threshold:10000}") long estimateThreshold) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.ttlMillis = ttlMillis;
+        this.estimateThreshold = estimateThreshold;
+    }
+
+    /**
+     * Run a paginated listing with the requested count strategy
+     *
+     * @param region    Cache region, one per counted query
+     * @param mode      Count strategy
+     * @param pageable  Requested page
+     * @param query     Slice query, fetches size + 1 rows and never counts
+     * @param exact     Exact count query
+     * @param estimateSql Query whose planner row estimate approximates the total, e.g. "select 1 from t where ..."
+     * @return Slice for NONE, EstimatedPage for estimates, otherwise a PageImpl with an exact total
+     */
+    public <T> Slice<T> page(String region, CountMode mode, Pageable pageable,
+                             Function<Pageable, Slice<T>> query, LongSupplier exact, String estimateSql) {
+        Slice<T> slice = query.apply(pageable);
+
+        switch (mode) {
+            case NONE -> {
+                skippedCounts.increment();
+                return slice;
+            }
+            case CACHED -> {
+                return new PageImpl<>(slice.getContent(), pageable, cachedCount(region, exact));
+            }
+            case ESTIMATE -> {
+                long estimate = estimate(estimateSql);
+                if (estimate >= estimateThreshold) {
+                    estimatedCounts.increment();
+                    return new EstimatedPage<>(slice.getContent(), pageable, estimate);
+                }
+                // Small tables count fast and estimates are least accurate there
+                return new PageImpl<>(slice.getContent(), pageable, cachedCount(region, exact));
+            }
+            default -> {
+                exactCounts.increment();
+                return new PageImpl<>(slice.getContent(), pageable, exact.getAsLong());
+            }
+        }
+    }
+
+    /**
+     * Drop the cached count of a region once the surrounding transaction commits
+     */
+    public void invalidateAfterCommit(String region) {
+        TransactionUtil.afterCommit(() -> cache.remove(region));
+    }
+
+    /**
+     * Drop the cached count of a region right away, for changes committed by another node
+     */
+    public void invalidate(String region) {
+        cache.remove(region);
+    }
+
+    private long cachedCount(String region, LongSupplier exact) {
+        long now = System.currentTimeMillis();
+        CachedCount cached = cache.get(region);
+        if (cached != null && cached.expiresAt > now) {
+            cachedCounts.increment();
+            return cached.count;
+        }
+
+        exactCounts.increment();
+        long count = exact.getAsLong();
+        cache.put(region, new CachedCount(count, now + ttlMillis));
+        return count;
+    }
+
+    private long estimate(String sql) {
+        try {
+            String plan = jdbcTemplate.queryForObject("explain (format json) " + sql, String.class);
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : -1;
+        } catch (Exception e) {
+            log.warn("Planner estimate failed, falling back to count: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public long getExactCounts() {
+        return exactCounts.sum();
+    }
+
+    public long getCachedCounts() {
+        return cachedCounts.sum();
+    }
+
+    public long getEstimatedCounts() {
+        return estimatedCounts.sum();
+    }
+
+    public long getSkippedCounts() {
+        return skippedCounts.sum();
+    }
+
+    /**
+     * Count queries that did not run because the total was cached, estimated or not needed
+     */
+    public long getAvoidedCounts() {
+        return cachedCounts.sum() + estimatedCounts.sum() + skippedCounts.sum();
+    }
+
+    private record CachedCount(long count, long expiresAt) {
+    }
+}
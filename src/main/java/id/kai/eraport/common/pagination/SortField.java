@@ -0,0 +1,30 @@
+package id.kai.eraport.common.pagination;
+
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * Whitelisted sort field, the name is both the request value and the entity property
+ *
+ * @param <T> Entity type
+ */
+public record SortField<T>(String name, KeyType type, Function<T, Object> getter) {
+
+    public Object keyOf(T row) {
+        return getter.apply(row);
+    }
+
+    /**
+     * Compare two keys the way ORDER BY ... ASC does in PostgreSQL, nulls last
+     */
+    public int compareKeys(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return type.compare(a, b);
+    }
+
+    public Comparator<T> comparator() {
+        return (left, right) -> compareKeys(keyOf(left), keyOf(right));
+    }
+}
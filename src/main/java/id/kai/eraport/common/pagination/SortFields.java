@@ -0,0 +1,40 @@
+package id.kai.eraport.common.pagination;
+
+import id.kai.eraport.exception.BadRequestException;
+import id.kai.eraport.dto.menu.MenuView;
+import id.kai.eraport.dto.role.RoleDetail;
+
+import java.util.Map;
+
+/**
+ * Sort fields accepted by the listing endpoints, anything else is rejected with 400
+ */
+public class SortFields {
+    public static final Map<String, SortField<MenuView>> MENUS = Map.of(
+            "id", new SortField<>("id", KeyType.UUID_KEY, MenuView::id),
+            "name", new SortField<>("name", KeyType.STRING, MenuView::name),
+            "type", new SortField<>("type", KeyType.STRING, MenuView::type),
+            "createdAt", new SortField<>("createdAt", KeyType.TIMESTAMP, MenuView::createdAt),
+            "lastModifiedAt", new SortField<>("lastModifiedAt", KeyType.TIMESTAMP, MenuView::lastModifiedAt)
+    );
+
+    public static final Map<String, SortField<RoleDetail>> ROLES = Map.of(
+            "id", new SortField<>("id", KeyType.UUID_KEY, RoleDetail::id),
+            "roleName", new SortField<>("roleName", KeyType.STRING, RoleDetail::roleName),
+            "createdAt", new SortField<>("createdAt", KeyType.TIMESTAMP, RoleDetail::createdAt),
+            "createdBy", new SortField<>("createdBy", KeyType.UUID_KEY, RoleDetail::createdBy),
+            "lastModifiedAt", new SortField<>("lastModifiedAt", KeyType.TIMESTAMP, RoleDetail::lastModifiedAt),
+            "lastModifiedBy", new SortField<>("lastModifiedBy", KeyType.UUID_KEY, RoleDetail::lastModifiedBy)
+    );
+
+    private SortFields() {
+    }
+
+    public static <T> SortField<T> resolve(Map<String, SortField<T>> fields, String sortBy) {
+        SortField<T> field = fields.get(sortBy);
+        if (field == null) {
+            throw new BadRequestException("Invalid sort field: " + sortBy);
+        }
+        return field;
+    }
+}
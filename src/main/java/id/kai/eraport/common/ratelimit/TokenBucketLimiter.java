@@ -0,0 +1,108 @@
+package id.kai.eraport.common.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket per client key, implemented as GCRA (generic cell rate algorithm)
+ * Each bucket is a single AtomicLong holding the theoretical arrival time, so acquiring
+ * is one CAS loop without locks or allocation once the key is known
+ */
+public class TokenBucketLimiter {
+    private final String name;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxKeys;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    // Shared by all clients that arrive while the map is full
+    private final AtomicLong overflowBucket = new AtomicLong();
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketLimiter(String name, int capacity, double refillPerSecond, int maxKeys) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit " + name + " needs capacity >= 1 and refill > 0");
+        }
+        this.name = name;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Take one token for the given client
+     *
+     * @param key     Client key (IP address or principal name)
+     * @param nowNanos Current System.nanoTime()
+     * @return 0 when allowed, otherwise nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = newBucket(key, nowNanos);
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, nowNanos);
+            long waitNanos = start - nowNanos - burstToleranceNanos;
+            if (waitNanos > 0) {
+                rejected.increment();
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(tat, start + emissionIntervalNanos)) {
+                allowed.increment();
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * No inline sweep when the map is full, a flood of new keys would turn every request into a
+     * full scan; the scheduled evictIdle frees room and new keys share the overflow bucket until then
+     */
+    private AtomicLong newBucket(String key, long nowNanos) {
+        if (buckets.size() >= maxKeys) {
+            return overflowBucket;
+        }
+
+        AtomicLong bucket = new AtomicLong(nowNanos);
+        AtomicLong existing = buckets.putIfAbsent(key, bucket);
+        return existing != null ? existing : bucket;
+    }
+
+    /**
+     * Remove buckets that have refilled completely, they behave exactly like a new bucket
+     *
+     * @param nowNanos Current System.nanoTime()
+     */
+    public void evictIdle(long nowNanos) {
+        Iterator<Map.Entry<String, AtomicLong>> iterator = buckets.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().get() <= nowNanos) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public int getTrackedKeys() {
+        return buckets.size();
+    }
+}
@@ -55,6 +55,11 @@ public class ApiResponse<T> {
      */
     private Long total;
 
+    /**
+     * True when total is a query planner estimate rather than an exact count
+     */
+    private Boolean totalEstimated;
+
     /**
      * Total number of pages
      */
@@ -80,6 +85,11 @@ public class ApiResponse<T> {
      */
     private Boolean isLast;
 
+    /**
+     * Opaque token for the next keyset page, absent on the last page
+     */
+    private String nextCursor;
+
     // ==================== Static Factory Methods ====================
 
     /**
@@ -37,7 +37,7 @@ public class AppUtil {
     public static String handleFileUploadMultipart(MultipartFile file, String SAVE_DIR){
         //Format di windows, karena tidak bisa menggunakan colon (:)
         String extension = FilenameUtils.getExtension(file.getOriginalFilename());
-        LOGGER.info("cek : "+extension);
+        LOGGER.debug("Upload extension: {}", extension);
 
         if(extension.equals("jpg") || extension.equals("jpeg")||extension.equals("png")){
             SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH-mm-ss");
@@ -52,7 +52,7 @@ public class AppUtil {
                 try {
                     File fileSaveDir = new File(SAVE_DIR);
                     if (!fileSaveDir.exists()) {
-                        LOGGER.info("Creates the save directory if it does not exists");
+                        LOGGER.debug("Creating save directory {}", SAVE_DIR);
                         fileSaveDir.mkdirs();
                     }
 
@@ -63,7 +63,7 @@ public class AppUtil {
 
                     return outputFilePath;
                 } catch (IOException e) {
-                    LOGGER.error("You failed to upload file => " + e.getMessage());
+                    LOGGER.error("You failed to upload file => {}", e.getMessage());
                     return "1";
                 }
             }else {
@@ -89,11 +89,11 @@ public class AppUtil {
         if (!scanFile.isEmpty()) {
 
             try {
-                LOGGER.info("Decoding base64");
+                LOGGER.debug("Decoding base64");
 
                 File fileSaveDir = new File(SAVE_DIR);
                 if (!fileSaveDir.exists()) {
-                    LOGGER.info("Creates the save directory if it does not exists");
+                    LOGGER.debug("Creating save directory {}", SAVE_DIR);
                     fileSaveDir.mkdirs();
                 }
 
@@ -109,7 +109,7 @@ public class AppUtil {
                         + "/" + outputFilePath);
 
                 FileUtils.writeByteArrayToFile(outputFile, decodedBytes);
-                LOGGER.info("nyoba tampil"+String.valueOf(outputFile));
+                LOGGER.debug("Upload written to {}", outputFile);
 
 //                File input = new File(String.valueOf(outputFile));
 //                BufferedImage image = ImageIO.read(input);
@@ -122,7 +122,7 @@ public class AppUtil {
                 return outputFilePath;
 
             } catch (Exception e) {
-                LOGGER.error("You failed to upload file => " + e.getMessage());
+                LOGGER.error("You failed to upload file => {}", e.getMessage());
                 return "1";
             }
         } else {
@@ -152,7 +152,7 @@ public class AppUtil {
     public static String handleFileRemove(String SAVE_DIR, String urlFile) {
         if (!urlFile.isEmpty()) {
             try {
-                LOGGER.info("path : "+SAVE_DIR + "/" + urlFile);
+                LOGGER.debug("Deleting {}/{}", SAVE_DIR, urlFile);
                 FileUtils.touch(new File(SAVE_DIR + "/" + urlFile));
                 File fileToDelete = FileUtils.getFile(SAVE_DIR + "/" + urlFile);
                 boolean success = FileUtils.deleteQuietly(fileToDelete);
@@ -160,7 +160,7 @@ public class AppUtil {
                 return "success";
 
             } catch (Exception e) {
-                LOGGER.error("You failed to delete file => " + e.getMessage());
+                LOGGER.error("You failed to delete file => {}", e.getMessage());
                 return "1";
             }
         } else {
@@ -204,7 +204,7 @@ public class AppUtil {
             currentTFormat.setTimeZone(TimeZone.getTimeZone(getCurrentTimeZone()));
 
             converted_date =  currentTFormat.format(date);
-        }catch (Exception e){ e.printStackTrace();}
+        }catch (Exception e){ LOGGER.warn("Cannot convert date '{}': {}", Date, e.getMessage());}
 
         return converted_date;
     }
@@ -0,0 +1,41 @@
+package id.kai.eraport.common.util;
+
+import java.util.function.Supplier;
+
+public class DataSourceRouting {
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Run a read on the primary even when it is read-only, for reads that must see the latest commit
+     * Only affects connections obtained inside the action, not one the current transaction already holds
+     *
+     * @param action Read to run
+     * @return Result of the action
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (Boolean.TRUE.equals(PRIMARY_FORCED.get())) {
+            return action.get();
+        }
+
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_FORCED.remove();
+        }
+    }
+
+    public static void onPrimary(Runnable action) {
+        onPrimary(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public static boolean isPrimaryForced() {
+        return Boolean.TRUE.equals(PRIMARY_FORCED.get());
+    }
+}
@@ -0,0 +1,29 @@
+package id.kai.eraport.common.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtil {
+    private TransactionUtil() {
+    }
+
+    /**
+     * Run an action once the current transaction commits, or right away when there is none
+     * Used to refresh in-memory snapshots only with data other transactions can already see
+     *
+     * @param action Action to run, skipped when the transaction rolls back
+     */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,58 @@
+package id.kai.eraport.configuration;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    /**
+     * Caffeine backed JCache manager handed to Hibernate, with every region created up front
+     * so that each gets its configured bounds instead of an unbounded default cache
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(HibernateCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        for (Map.Entry<String, HibernateCacheProperties.Region> region : properties.getRegions().entrySet()) {
+            create(cacheManager, region.getKey(), region.getValue());
+        }
+        if (!properties.getRegions().containsKey(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME)) {
+            create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, properties.getDefaults());
+        }
+
+        // Must outlive every cached query result, bounding it would serve stale query results
+        HibernateCacheProperties.Region timestamps = new HibernateCacheProperties.Region();
+        timestamps.setMaxEntries(0);
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void create(CacheManager cacheManager, String name, HibernateCacheProperties.Region region) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        if (region.getMaxEntries() > 0) {
+            configuration.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+        }
+        if (region.getTtlMs() > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(region.getTtlMs())));
+        }
+        cacheManager.createCache(name, configuration);
+    }
+}
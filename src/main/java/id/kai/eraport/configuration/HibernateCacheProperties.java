@@ -0,0 +1,36 @@
+package id.kai.eraport.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size and TTL of the Hibernate second-level cache regions bound from hibernate-cache.*
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hibernate-cache")
+public class HibernateCacheProperties {
+    /**
+     * Limits for regions without their own entry, including default-query-results-region
+     */
+    private Region defaults = new Region();
+
+    /**
+     * Limits per region name, entity regions are named in the @Cache annotations
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    @Data
+    public static class Region {
+        private long maxEntries = 10000;
+
+        /**
+         * Time to live after write, 0 keeps entries until evicted by size or invalidation
+         */
+        private long ttlMs = 0;
+    }
+}
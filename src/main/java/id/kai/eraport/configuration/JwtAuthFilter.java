@@ -1,13 +1,18 @@
 package id.kai.eraport.configuration;
 
-import id.kai.eraport.service.impl.JwtServiceImpl;
+import id.kai.eraport.common.cache.VerifiedTokenCache;
+import id.kai.eraport.common.logging.LogThrottle;
+import id.kai.eraport.dto.auth.JwtAuthenticationToken;
+import id.kai.eraport.dto.auth.JwtUserInfo;
 import id.kai.eraport.service.interfaces.JwtService;
+import id.kai.eraport.service.interfaces.TokenRevocationService;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -18,11 +23,20 @@ import java.util.List;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
+
+    // Anyone can send garbage tokens, so the warning is throttled and the count kept for metrics
+    private final LogThrottle invalidTokenLog = new LogThrottle(10_000);
 
     private final JwtService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
 
-    public JwtAuthFilter(JwtService jwtService) {
+    public JwtAuthFilter(JwtService jwtService, VerifiedTokenCache verifiedTokenCache,
+                         TokenRevocationService tokenRevocationService) {
         this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     @Override
@@ -38,26 +52,47 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         try {
             String token = authHeader.substring(7);
-            Claims claims = jwtService.extractAllClaims(token);
-
-            String email = claims.get("email", String.class);
-            String role = claims.get("role", String.class);
-
-            if (email != null) {
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                email,
-                                null,
-                                List.of(new SimpleGrantedAuthority("ROLE_" + role))
-                        );
+            VerifiedTokenCache.TokenKey key = verifiedTokenCache.keyOf(token);
+            JwtAuthenticationToken authentication = verifiedTokenCache.get(key);
+            if (authentication == null) {
+                authentication = authenticate(token);
+                if (authentication != null) {
+                    verifiedTokenCache.put(key, authentication);
+                }
+            }
 
+            // Checked on every request, cached authentications may belong to a family revoked since
+            if (authentication != null && !tokenRevocationService.isRevoked(authentication.getFamilyId())) {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
 
         } catch (Exception e) {
-            System.out.println("Invalid token: " + e.getMessage());
+            long suppressed = invalidTokenLog.tryAcquire();
+            if (suppressed >= 0) {
+                log.warn("Invalid token rejected: {} ({} more since the last report)", e.getMessage(), suppressed);
+            }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    public long getInvalidTokens() {
+        return invalidTokenLog.getTotal();
+    }
+
+    private JwtAuthenticationToken authenticate(String token) {
+        Claims claims = jwtService.extractAllClaims(token);
+        JwtUserInfo userInfo = jwtService.toUserInfo(claims);
+
+        if (userInfo.getEmail() == null) {
+            return null;
+        }
+
+        return new JwtAuthenticationToken(
+                userInfo,
+                claims,
+                jwtService.extractFamilyId(claims),
+                List.of(new SimpleGrantedAuthority("ROLE_" + userInfo.getRole()))
+        );
+    }
 }
@@ -0,0 +1,70 @@
+package id.kai.eraport.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Key ring configuration bound from jwt.keys.*
+ * Every node behind the load balancer must be configured with the same entries
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jwt.keys")
+public class JwtKeyProperties {
+    /**
+     * Algorithm of the ephemeral key generated when no entries are configured (ES256 or EdDSA)
+     */
+    private String algorithm = "ES256";
+
+    /**
+     * Optional PKCS12 keystore holding entries referenced by alias
+     */
+    private Keystore keystore = new Keystore();
+
+    private List<Entry> entries = new ArrayList<>();
+
+    @Data
+    public static class Keystore {
+        private String location;
+        private String password;
+        private String type = "PKCS12";
+    }
+
+    @Data
+    public static class Entry {
+        /**
+         * Key id stamped into the kid header and published in the JWKS
+         */
+        private String kid;
+
+        /**
+         * Alias in the keystore, used instead of private-key/public-key
+         */
+        private String alias;
+
+        /**
+         * PKCS#8 PEM private key, leave empty on nodes that only verify
+         */
+        private String privateKey;
+
+        /**
+         * X.509 SubjectPublicKeyInfo PEM public key
+         */
+        private String publicKey;
+
+        /**
+         * Signing starts at this instant, the key is published and accepted before that
+         */
+        private Instant activeFrom;
+
+        /**
+         * Tokens signed with this key are rejected after this instant
+         */
+        private Instant verifyUntil;
+    }
+}
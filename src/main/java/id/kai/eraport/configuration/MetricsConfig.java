@@ -0,0 +1,182 @@
+package id.kai.eraport.configuration;
+
+import id.kai.eraport.common.cache.ClusterCacheInvalidator;
+import id.kai.eraport.common.cache.SecondLevelCacheStats;
+import id.kai.eraport.common.cache.UserAuthCache;
+import id.kai.eraport.common.cache.VerifiedTokenCache;
+import id.kai.eraport.common.pagination.PageCounter;
+import id.kai.eraport.common.ratelimit.TokenBucketLimiter;
+import id.kai.eraport.service.impl.PasswordHasherImpl;
+import id.kai.eraport.service.impl.TokenRevocationServiceImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes the statistics the caches, limiters and pools already keep as Micrometer meters
+ * Every meter reads an existing counter on scrape, so the request path pays nothing extra
+ * Tags only ever take configured values (cache region, rate limit rule), never ids or paths
+ *
+ * HTTP server timers, Spring Data repository timers and Hikari pool gauges come from the
+ * actuator auto-configuration, JWT and password timers are recorded where the work happens
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder authCacheMetrics(VerifiedTokenCache verifiedTokenCache, UserAuthCache userAuthCache) {
+        return registry -> {
+            bindCacheGets(registry, "verified-token", verifiedTokenCache,
+                    VerifiedTokenCache::getHits, VerifiedTokenCache::getMisses);
+            Gauge.builder("cache.size", verifiedTokenCache, VerifiedTokenCache::getSize)
+                    .tag("cache", "verified-token")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", verifiedTokenCache, VerifiedTokenCache::getExpirations)
+                    .tag("cache", "verified-token")
+                    .register(registry);
+            FunctionCounter.builder("cache.puts.rejected", verifiedTokenCache, VerifiedTokenCache::getRejectedPuts)
+                    .description("Verified tokens not cached because the cache was full")
+                    .tag("cache", "verified-token")
+                    .register(registry);
+
+            bindCacheGets(registry, "user-auth", userAuthCache, UserAuthCache::getHits, UserAuthCache::getMisses);
+            Gauge.builder("cache.size", userAuthCache, UserAuthCache::getSize)
+                    .tag("cache", "user-auth")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", userAuthCache, UserAuthCache::getEvictions)
+                    .tag("cache", "user-auth")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(SecondLevelCacheStats secondLevelCacheStats,
+                                               HibernateCacheProperties cacheProperties,
+                                               ClusterCacheInvalidator cacheInvalidator) {
+        return registry -> {
+            // Query cache regions only show up in the statistics after their first use
+            Set<String> regions = new TreeSet<>(cacheProperties.getRegions().keySet());
+            secondLevelCacheStats.getRegions().forEach(region -> regions.add(region.name()));
+            for (String name : regions) {
+                bindCacheGets(registry, name, secondLevelCacheStats,
+                        stats -> regionValue(stats, name, SecondLevelCacheStats.RegionStats::hits),
+                        stats -> regionValue(stats, name, SecondLevelCacheStats.RegionStats::misses));
+                FunctionCounter.builder("cache.puts", secondLevelCacheStats,
+                                stats -> regionValue(stats, name, SecondLevelCacheStats.RegionStats::puts))
+                        .tag("cache", name)
+                        .register(registry);
+            }
+
+            FunctionCounter.builder("cache.invalidation.messages", cacheInvalidator, ClusterCacheInvalidator::getPublished)
+                    .description("Cross-node cache invalidations")
+                    .tag("direction", "published")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.messages", cacheInvalidator, ClusterCacheInvalidator::getReceived)
+                    .description("Cross-node cache invalidations")
+                    .tag("direction", "received")
+                    .register(registry);
+            FunctionCounter.builder("cache.invalidation.reconnects", cacheInvalidator, ClusterCacheInvalidator::getReconnects)
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder securityMetrics(PasswordHasherImpl passwordHasher, RateLimitFilter rateLimitFilter,
+                                       TokenRevocationServiceImpl tokenRevocationService, JwtAuthFilter jwtAuthFilter) {
+        return registry -> {
+            Gauge.builder("password.hash.pool.active", passwordHasher, PasswordHasherImpl::getActiveCount)
+                    .description("Password hashes running on the hashing pool")
+                    .register(registry);
+            Gauge.builder("password.hash.pool.queued", passwordHasher, PasswordHasherImpl::getQueueDepth)
+                    .description("Password hashes waiting for a hashing pool thread")
+                    .register(registry);
+            Gauge.builder("password.hash.import.queued", passwordHasher, PasswordHasherImpl::getImportQueueDepth)
+                    .description("Bulk import hashes waiting for an import pool thread")
+                    .register(registry);
+            FunctionCounter.builder("password.hash.rejected", passwordHasher, PasswordHasherImpl::getRejectedCount)
+                    .description("Password hashes refused with 429 because the pool was saturated or timed out")
+                    .register(registry);
+
+            for (TokenBucketLimiter limiter : rateLimitFilter.getLimiters()) {
+                FunctionCounter.builder("ratelimit.requests", limiter, TokenBucketLimiter::getAllowed)
+                        .tag("rule", limiter.getName())
+                        .tag("result", "allowed")
+                        .register(registry);
+                FunctionCounter.builder("ratelimit.requests", limiter, TokenBucketLimiter::getRejected)
+                        .tag("rule", limiter.getName())
+                        .tag("result", "rejected")
+                        .register(registry);
+                Gauge.builder("ratelimit.keys", limiter, TokenBucketLimiter::getTrackedKeys)
+                        .description("Client keys with a live token bucket")
+                        .tag("rule", limiter.getName())
+                        .register(registry);
+            }
+
+            Gauge.builder("jwt.revoked.families", tokenRevocationService, TokenRevocationServiceImpl::getRevokedFamilies)
+                    .description("Revoked refresh token families held in memory")
+                    .register(registry);
+            FunctionCounter.builder("jwt.rejected", jwtAuthFilter, JwtAuthFilter::getInvalidTokens)
+                    .description("Bearer tokens that failed verification")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder dataAccessMetrics(PageCounter pageCounter, ObjectProvider<ReplicaLagMonitor> replicaLagMonitor) {
+        return registry -> {
+            bindPageCounts(registry, pageCounter, "exact", PageCounter::getExactCounts);
+            bindPageCounts(registry, pageCounter, "cached", PageCounter::getCachedCounts);
+            bindPageCounts(registry, pageCounter, "estimated", PageCounter::getEstimatedCounts);
+            bindPageCounts(registry, pageCounter, "skipped", PageCounter::getSkippedCounts);
+
+            replicaLagMonitor.ifAvailable(monitor -> {
+                Gauge.builder("datasource.replica.lag", monitor, MetricsConfig::replicaLag)
+                        .description("Replay lag of the read replica, NaN while unknown")
+                        .baseUnit("milliseconds")
+                        .register(registry);
+                FunctionCounter.builder("datasource.replica.fallbacks", monitor, ReplicaLagMonitor::getFallbacks)
+                        .description("Read-only connections served by the primary because the replica was unavailable")
+                        .register(registry);
+            });
+        };
+    }
+
+    private static <T> void bindCacheGets(MeterRegistry registry, String cache, T source,
+                                          ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", source, hits)
+                .tag("cache", cache)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, misses)
+                .tag("cache", cache)
+                .tag("result", "miss")
+                .register(registry);
+    }
+
+    private static void bindPageCounts(MeterRegistry registry, PageCounter pageCounter, String mode,
+                                       ToDoubleFunction<PageCounter> count) {
+        FunctionCounter.builder("pagination.counts", pageCounter, count)
+                .description("Listing totals by how they were obtained")
+                .tag("mode", mode)
+                .register(registry);
+    }
+
+    private static double regionValue(SecondLevelCacheStats stats, String region,
+                                      ToDoubleFunction<SecondLevelCacheStats.RegionStats> value) {
+        SecondLevelCacheStats.RegionStats regionStats = stats.getRegion(region);
+        return regionStats == null ? 0 : value.applyAsDouble(regionStats);
+    }
+
+    private static double replicaLag(ReplicaLagMonitor monitor) {
+        long lag = monitor.getLagMillis();
+        return lag < 0 || lag == Long.MAX_VALUE ? Double.NaN : lag;
+    }
+}
@@ -0,0 +1,62 @@
+package id.kai.eraport.configuration;
+
+import id.kai.eraport.common.cache.PermissionMatrix;
+import id.kai.eraport.dto.auth.JwtAuthenticationToken;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configurers.AuthorizeHttpRequestsConfigurer;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Menu based authorization registered as Spring Security request rules
+ * The matchers see the decoded, normalized path Spring MVC routes on, so an encoded request path
+ * cannot reach a controller around its rule. The first matching rule decides, and under
+ * permission.api-root a request that matches no rule is denied
+ */
+@Component
+public class PermissionAuthorization {
+    private final PermissionProperties properties;
+    private final PermissionMatrix permissionMatrix;
+
+    public PermissionAuthorization(PermissionProperties properties, PermissionMatrix permissionMatrix) {
+        this.properties = properties;
+        this.permissionMatrix = permissionMatrix;
+    }
+
+    public void apply(AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizationManagerRequestMatcherRegistry auth) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        for (PermissionProperties.Rule rule : properties.getRules()) {
+            // "/**" also matches the prefix itself, but not a sibling such as /api/v1/roles
+            String pattern = rule.getPathPrefix() + "/**";
+            if (rule.getMethods().isEmpty()) {
+                grant(auth.requestMatchers(pattern), rule);
+            } else {
+                for (String method : rule.getMethods()) {
+                    grant(auth.requestMatchers(HttpMethod.valueOf(method.toUpperCase()), pattern), rule);
+                }
+            }
+        }
+        auth.requestMatchers(properties.getApiRoot() + "/**").denyAll();
+    }
+
+    private void grant(AuthorizeHttpRequestsConfigurer<HttpSecurity>.AuthorizedUrl url,
+                       PermissionProperties.Rule rule) {
+        if (rule.getMenu() == null || rule.getMenu().isBlank()) {
+            url.authenticated();
+        } else {
+            url.access(grantedMenu(rule.getMenu()));
+        }
+    }
+
+    private AuthorizationManager<RequestAuthorizationContext> grantedMenu(String menu) {
+        return (authentication, context) -> new AuthorizationDecision(
+                authentication.get() instanceof JwtAuthenticationToken token
+                        && permissionMatrix.isAllowed(token.getPrincipal().getRole(), menu));
+    }
+}
@@ -0,0 +1,52 @@
+package id.kai.eraport.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Menu based authorization rules bound from permission.*
+ * The first rule matching a request decides, it is allowed only when the caller's role is granted the rule's menu
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "permission")
+public class PermissionProperties {
+    private boolean enabled = true;
+
+    /**
+     * Path under which a request must match a rule, anything else there is denied
+     */
+    private String apiRoot = "/api/v1";
+
+    /**
+     * Role name given to self-registered users, blank disables /api/v1/auth/register
+     * Never an admin role
+     */
+    private String registrationRole;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        private String name;
+
+        /**
+         * Path the rule covers, matched per segment on the decoded path together with everything below it
+         */
+        private String pathPrefix;
+
+        /**
+         * HTTP methods the rule applies to, empty means all
+         */
+        private List<String> methods = new ArrayList<>();
+
+        /**
+         * Name of the menu a role must be granted, blank lets any authenticated user through
+         */
+        private String menu;
+    }
+}
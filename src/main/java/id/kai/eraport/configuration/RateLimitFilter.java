@@ -0,0 +1,113 @@
+package id.kai.eraport.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.kai.eraport.common.ratelimit.TokenBucketLimiter;
+import id.kai.eraport.common.response.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * In-process rate limiting, registered right after JwtAuthFilter so the principal is known
+ * Put the app behind server.forward-headers-strategy when it runs behind a proxy, otherwise
+ * every client shares the proxy address
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private final RateLimitProperties.Rule[] rules;
+    private final RequestMatcher[] matchers;
+    private final TokenBucketLimiter[] limiters;
+
+    public RateLimitFilter(RateLimitProperties properties, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+
+        List<RateLimitProperties.Rule> configured = properties.getRules();
+        this.rules = configured.toArray(new RateLimitProperties.Rule[0]);
+        this.matchers = new RequestMatcher[rules.length];
+        this.limiters = new TokenBucketLimiter[rules.length];
+        for (int i = 0; i < rules.length; i++) {
+            RateLimitProperties.Rule rule = rules[i];
+            // Matched on the decoded path Spring MVC routes on, /api/v1/%61uth/login still counts as auth
+            matchers[i] = PathPatternRequestMatcher.withDefaults()
+                    .matcher(StringUtils.trimTrailingCharacter(rule.getPathPrefix(), '/') + "/**");
+            limiters[i] = new TokenBucketLimiter(rule.getName(), rule.getCapacity(),
+                    rule.getRefillPerSecond(), properties.getMaxKeysPerRule());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || rules.length == 0;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long now = System.nanoTime();
+
+        for (int i = 0; i < rules.length; i++) {
+            RateLimitProperties.Rule rule = rules[i];
+            if (!matchers[i].matches(request)) {
+                continue;
+            }
+
+            long waitNanos = limiters[i].tryAcquire(clientKey(rule, request), now);
+            if (waitNanos > 0) {
+                reject(response, waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static String clientKey(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        if (rule.getKey() == RateLimitProperties.KeyType.PRINCIPAL) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()) {
+                return authentication.getName();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests"));
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (TokenBucketLimiter limiter : limiters) {
+            limiter.evictIdle(now);
+        }
+    }
+
+    public List<TokenBucketLimiter> getLimiters() {
+        return List.of(limiters);
+    }
+}
@@ -0,0 +1,48 @@
+package id.kai.eraport.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limit rules bound from rate-limit.*
+ * Every rule whose path-prefix matches the request is applied
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    /**
+     * Upper bound of client keys tracked per rule, clients beyond it share one bucket
+     */
+    private int maxKeysPerRule = 100_000;
+
+    private List<Rule> rules = new ArrayList<>();
+
+    public enum KeyType {
+        IP,
+        PRINCIPAL
+    }
+
+    @Data
+    public static class Rule {
+        private String name;
+
+        /**
+         * Path the rule covers, matched per segment on the decoded path together with everything below it
+         */
+        private String pathPrefix;
+
+        /**
+         * PRINCIPAL rules fall back to the client IP for anonymous requests
+         */
+        private KeyType key = KeyType.IP;
+        private int capacity = 10;
+        private double refillPerSecond = 1.0;
+    }
+}
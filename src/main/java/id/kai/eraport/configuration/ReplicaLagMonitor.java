@@ -0,0 +1,118 @@
+package id.kai.eraport.configuration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polls the replica's replay lag, reads are only routed there while it is reachable and close enough
+ * The replay position is compared with the primary's current WAL position read just before: a replica
+ * that has replayed up to it counts as lag 0 even when the primary is idle, one behind it is as far
+ * behind as its last replayed transaction. A replica whose WAL receiver is disconnected therefore falls
+ * behind as soon as the primary writes. A server that is not in recovery (e.g. a second standalone
+ * instance for local testing) counts as lag 0
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String PRIMARY_LSN_SQL = "select pg_current_wal_lsn()::text";
+    private static final String LAG_SQL = "select case when not pg_is_in_recovery() then 0 "
+            + "when pg_last_wal_replay_lsn() >= ?::pg_lsn then 0 "
+            + "else extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000 end";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long maxLagMillis;
+
+    // Unavailable until the first check passes, reads stay on the primary meanwhile
+    private volatile boolean available;
+    private volatile long lagMillis = -1;
+
+    private final LongAdder fallbacks = new LongAdder();
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        long lag;
+        try {
+            String primaryLsn = readPrimaryLsn();
+            try (Connection connection = replica.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(LAG_SQL)) {
+                statement.setString(1, primaryLsn);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    double value = rs.getDouble(1);
+                    lag = rs.wasNull() ? Long.MAX_VALUE : (long) value;
+                }
+            }
+        } catch (Exception e) {
+            markUnavailable("check failed: " + e.getMessage());
+            lagMillis = Long.MAX_VALUE;
+            return;
+        }
+
+        lagMillis = lag;
+        if (lag > maxLagMillis) {
+            markUnavailable("lag " + (lag == Long.MAX_VALUE ? "unknown" : lag + " ms") + " over " + maxLagMillis + " ms");
+        } else if (!available) {
+            available = true;
+            log.info("Replica available, lag {} ms, routing read-only transactions to it", lag);
+        }
+    }
+
+    private String readPrimaryLsn() throws Exception {
+        try (Connection connection = primary.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(PRIMARY_LSN_SQL)) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    /**
+     * Called when the replica refused a connection between two checks
+     */
+    public void markUnavailable(String reason) {
+        // Logged on the transition only, and once when the very first check already fails
+        if (available || lagMillis == -1) {
+            log.warn("Replica unavailable ({}), routing reads to the primary", reason);
+        }
+        available = false;
+    }
+
+    void recordFallback() {
+        fallbacks.increment();
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    // ==================== STATISTICS ====================
+
+    /**
+     * @return Last measured lag in ms, Long.MAX_VALUE when unknown, -1 before the first check
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * @return Read-only connections served by the primary because the replica was unavailable
+     */
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+}
@@ -0,0 +1,48 @@
+package id.kai.eraport.configuration;
+
+import id.kai.eraport.common.util.DataSourceRouting;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+
+/**
+ * Source of read-only connections: the replica while ReplicaLagMonitor reports it healthy,
+ * the primary otherwise, when the replica refuses a connection, or inside DataSourceRouting.onPrimary
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor monitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor monitor) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!DataSourceRouting.isPrimaryForced()) {
+            if (monitor.isAvailable()) {
+                try {
+                    return replica.getConnection();
+                } catch (SQLException e) {
+                    monitor.markUnavailable("connection failed: " + e.getMessage());
+                }
+            }
+            monitor.recordFallback();
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Not supported, like the Hikari pools behind it: credentials come from the pool configuration
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials come from the pool configuration");
+    }
+}
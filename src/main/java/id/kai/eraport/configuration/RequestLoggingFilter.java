@@ -0,0 +1,86 @@
+package id.kai.eraport.configuration;
+
+import id.kai.eraport.common.logging.SqlDebugTurboFilter;
+import id.kai.eraport.common.util.UuidV7;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Puts the request id into the MDC so every log line of a request can be correlated
+ * A request carrying X-Debug-Sql with the configured token also gets its SQL statements and bind
+ * values logged (see SqlDebugTurboFilter), without raising the SQL log level for everyone else
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String SQL_DEBUG_HEADER = "X-Debug-Sql";
+    public static final String REQUEST_ID_MDC_KEY = "requestId";
+
+    private static final int MAX_REQUEST_ID_LENGTH = 64;
+
+    private final byte[] sqlDebugToken;
+
+    public RequestLoggingFilter(@Value("${logging.sql-debug.token:}") String sqlDebugToken) {
+        this.sqlDebugToken = sqlDebugToken.isEmpty() ? null : sqlDebugToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (!isAcceptableRequestId(requestId)) {
+            requestId = UuidV7.next().toString();
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+
+        MDC.put(REQUEST_ID_MDC_KEY, requestId);
+        if (isSqlDebugRequested(request)) {
+            MDC.put(SqlDebugTurboFilter.MDC_KEY, "true");
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_MDC_KEY);
+            MDC.remove(SqlDebugTurboFilter.MDC_KEY);
+        }
+    }
+
+    private boolean isSqlDebugRequested(HttpServletRequest request) {
+        if (sqlDebugToken == null) {
+            return false;
+        }
+
+        String header = request.getHeader(SQL_DEBUG_HEADER);
+        return header != null && MessageDigest.isEqual(sqlDebugToken, header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Client supplied ids end up in every log line, so only short printable tokens are taken over
+    private static boolean isAcceptableRequestId(String requestId) {
+        if (requestId == null || requestId.isEmpty() || requestId.length() > MAX_REQUEST_ID_LENGTH) {
+            return false;
+        }
+
+        for (int i = 0; i < requestId.length(); i++) {
+            char c = requestId.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.') || c > 0x7f) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
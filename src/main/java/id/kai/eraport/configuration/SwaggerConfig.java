@@ -1,6 +1,8 @@
 package id.kai.eraport.configuration;
 
+import id.kai.eraport.common.annotation.CurrentUser;
 import jakarta.annotation.PostConstruct;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +22,11 @@ import java.util.List;
 public class SwaggerConfig {
     private static final Logger log = LoggerFactory.getLogger(SwaggerConfig.class);
 
+    static {
+        // @CurrentUser is resolved from the security context, not from the request
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+    }
+
     @Value("${spring.application.name}")
     private String appName;
 
@@ -44,4 +44,11 @@ public class AuthController {
 
         return ResponseBuilder.ok(response, "Refresh Success");
     }
+
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<Object>> logout(@Valid @RequestBody RefreshTokenRequest request) {
+        authService.logout(request.getRefreshToken());
+
+        return ResponseBuilder.ok("Logout success");
+    }
 }
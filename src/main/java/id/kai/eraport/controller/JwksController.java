@@ -0,0 +1,28 @@
+package id.kai.eraport.controller;
+
+import id.kai.eraport.service.interfaces.JwtKeyRing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+public class JwksController {
+    @Autowired
+    private JwtKeyRing jwtKeyRing;
+
+    /**
+     * Public verification keys in RFC 7517 JWK Set format
+     * Not wrapped in ApiResponse because JWT libraries consume this document directly
+     */
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<Map<String, Object>> getJwks() {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic())
+                .body(jwtKeyRing.getJwks());
+    }
+}
@@ -1,17 +1,26 @@
 package id.kai.eraport.controller;
 
+import id.kai.eraport.common.annotation.CurrentUser;
 import id.kai.eraport.common.helper.ResponseBuilder;
+import id.kai.eraport.common.pagination.CountMode;
 import id.kai.eraport.common.response.ApiResponse;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.batch.BatchResult;
+import id.kai.eraport.dto.menu.MenuDetail;
+import id.kai.eraport.dto.menu.MenuTreeNode;
+import id.kai.eraport.dto.menu.MenuView;
 import id.kai.eraport.model.Menus;
 import id.kai.eraport.model.Roles;
 import id.kai.eraport.service.interfaces.MenuService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -30,25 +39,62 @@ public class MenuController {
 
     @PostMapping
     public ResponseEntity<ApiResponse<Object>> createMenu(@Valid @RequestBody Menus request,
-                                                          @RequestHeader("Authorization") String authHeader) {
+                                                          @CurrentUser JwtUserInfo user) {
 
-        String token = authHeader.replace("Bearer ", "").trim();
-        menuService.create(request, token);
+        menuService.create(request, user);
         return ResponseBuilder.created("Menu created successfully");
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Object>> updateMenu(@PathVariable UUID id,
                                                           @Valid @RequestBody Menus request,
-                                                          @RequestHeader("Authorization") String authHeader){
+                                                          @CurrentUser JwtUserInfo user){
 
-        String token = authHeader.replace("Bearer ", "").trim();
-        menuService.update(id, request, token);
+        menuService.update(id, request, user);
         return ResponseBuilder.ok("Menu updated successfully");
     }
 
+    /**
+     * Create up to 500 menus at once, the result reports the outcome of every item
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> createBatch(
+            @RequestBody
+            @Size(min = 1, max = 500, message = "Batch must contain between 1 and 500 items")
+            List<@Valid Menus> request,
+            @CurrentUser JwtUserInfo user) {
+        BatchResult result = menuService.createAll(request, user);
+        return ResponseBuilder.ok(result, "Menu batch create finished");
+    }
+
+    /**
+     * Update up to 500 menus at once, each item carries its id and the version it read
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> updateBatch(
+            @RequestBody
+            @Size(min = 1, max = 500, message = "Batch must contain between 1 and 500 items")
+            List<@Valid Menus> request,
+            @CurrentUser JwtUserInfo user) {
+        BatchResult result = menuService.updateAll(request, user);
+        return ResponseBuilder.ok(result, "Menu batch update finished");
+    }
+
+    /**
+     * Delete up to 500 menus at once, each item carries its id and the version it read
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> deleteBatch(
+            @RequestBody
+            @Size(min = 1, max = 500, message = "Batch must contain between 1 and 500 items")
+            List<BatchDeleteItem> items,
+            @CurrentUser JwtUserInfo user) {
+        BatchResult result = menuService.deleteAll(items, user);
+        return ResponseBuilder.ok(result, "Menu batch delete finished");
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Menus>>> getAllMenus(
+    public ResponseEntity<ApiResponse<List<MenuView>>> getAllMenus(
             @RequestParam(defaultValue = "1")
             @Min(value = 1, message = "Page number must be at least 1")
             int page,
@@ -56,18 +102,39 @@ public class MenuController {
             @Min(value = 1, message = "Page size must be at least 1")
             @Max(value = 100, message = "Page size must not exceed 100")
             int size,
-            @RequestParam(defaultValue = "id") String sortBy ) {
-        Page<Menus> menu = menuService.getAll(page-1, size, sortBy);
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "EXACT") CountMode count,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
+        if (cursor || after != null) {
+            return ResponseBuilder.cursorPaginated(menuService.getAllAfter(after, size, sortBy),
+                    "Menu retrieved successfully");
+        }
+
+        Slice<MenuView> menu = menuService.getAll(page-1, size, sortBy, count);
 
         return ResponseBuilder.paginated(menu, "Menu retrieved successfully");
     }
 
+    @GetMapping("/tree")
+    public ResponseEntity<ApiResponse<List<MenuTreeNode>>> getMenuTree(
+            @RequestParam(required = false) UUID rootId,
+            @RequestParam(defaultValue = "10")
+            @Min(value = 1, message = "Depth must be at least 1")
+            @Max(value = 32, message = "Depth must not exceed 32")
+            int depth,
+            @RequestParam(defaultValue = "false") boolean includeInactive) {
+
+        List<MenuTreeNode> tree = menuService.getTree(rootId, depth, includeInactive);
+        return ResponseBuilder.ok(tree, "Menu tree retrieved successfully");
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Menus>> getRoleById(
+    public ResponseEntity<ApiResponse<MenuDetail>> getRoleById(
             @PathVariable
             UUID id) {
 
-        Menus menus = menuService.getById(id);
+        MenuDetail menus = menuService.getById(id);
         return ResponseBuilder.ok(menus, "Role retrieved successfully");
     }
 
@@ -75,9 +142,9 @@ public class MenuController {
     public ResponseEntity<ApiResponse<Object>> deleteForm(
             @PathVariable
             UUID id,
-            @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.replace("Bearer ", "").trim();
-        menuService.delete(id, token);
+            @RequestParam Long version,
+            @CurrentUser JwtUserInfo user) {
+        menuService.delete(id, version, user);
         return ResponseBuilder.ok("Role deleted successfully");
     }
 }
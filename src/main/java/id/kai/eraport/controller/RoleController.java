@@ -1,11 +1,21 @@
 package id.kai.eraport.controller;
 
+import id.kai.eraport.common.annotation.CurrentUser;
 import id.kai.eraport.common.helper.ResponseBuilder;
 import id.kai.eraport.common.response.ApiResponse;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.batch.BatchResult;
+import id.kai.eraport.dto.role.RoleDetail;
+import id.kai.eraport.dto.role.RoleMenusRequest;
+import id.kai.eraport.dto.role.RoleView;
 import id.kai.eraport.model.Roles;
+import id.kai.eraport.service.interfaces.RolePermissionService;
 import id.kai.eraport.service.interfaces.RoleService;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
@@ -21,25 +31,65 @@ public class RoleController {
     @Autowired
     private RoleService roleService;
 
+    @Autowired
+    private RolePermissionService rolePermissionService;
+
     @PostMapping
     public ResponseEntity<ApiResponse<Object>> create(@Validated @RequestBody Roles request,
-                                                      @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.replace("Bearer ", "").trim();
-        roleService.create(request, token);
+                                                      @CurrentUser JwtUserInfo user) {
+        roleService.create(request, user);
         return ResponseBuilder.created("Role created successfully");
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<ApiResponse<Object>> update(@PathVariable UUID id,
                                                       @Validated @RequestBody Roles request,
-                                                      @RequestHeader("Authorization") String authHeader) {
-        String token = authHeader.replace("Bearer ", "").trim();
-        roleService.update(id, request, token);
+                                                      @CurrentUser JwtUserInfo user) {
+        roleService.update(id, request, user);
         return ResponseBuilder.ok("Role updated successfully");
     }
 
+    /**
+     * Create up to 500 roles at once, the result reports the outcome of every item
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> createBatch(
+            @RequestBody
+            @Size(min = 1, max = 500, message = "Batch must contain between 1 and 500 items")
+            List<@Valid Roles> request,
+            @CurrentUser JwtUserInfo user) {
+        BatchResult result = roleService.createAll(request, user);
+        return ResponseBuilder.ok(result, "Role batch create finished");
+    }
+
+    /**
+     * Update up to 500 roles at once, each item carries its id and the version it read
+     */
+    @PutMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> updateBatch(
+            @RequestBody
+            @Size(min = 1, max = 500, message = "Batch must contain between 1 and 500 items")
+            List<@Valid Roles> request,
+            @CurrentUser JwtUserInfo user) {
+        BatchResult result = roleService.updateAll(request, user);
+        return ResponseBuilder.ok(result, "Role batch update finished");
+    }
+
+    /**
+     * Delete up to 500 roles at once, each item carries its id and the version it read
+     */
+    @DeleteMapping("/batch")
+    public ResponseEntity<ApiResponse<BatchResult>> deleteBatch(
+            @RequestBody
+            @Size(min = 1, max = 500, message = "Batch must contain between 1 and 500 items")
+            List<BatchDeleteItem> items,
+            @CurrentUser JwtUserInfo user) {
+        BatchResult result = roleService.deleteAll(items, user);
+        return ResponseBuilder.ok(result, "Role batch delete finished");
+    }
+
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Roles>>> getAllRole(
+    public ResponseEntity<ApiResponse<List<RoleView>>> getAllRole(
             @RequestParam(defaultValue = "1")
             @Min(value = 1, message = "Page number must be at least 1")
             int page,
@@ -47,18 +97,24 @@ public class RoleController {
             @Min(value = 1, message = "Page size must be at least 1")
             @Max(value = 100, message = "Page size must not exceed 100")
             int size,
-            @RequestParam(defaultValue = "id") String sortBy) {
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "false") boolean cursor,
+            @RequestParam(required = false) String after) {
+        if (cursor || after != null) {
+            return ResponseBuilder.cursorPaginated(roleService.getAllAfter(after, size, sortBy),
+                    "Role retrieved successfully");
+        }
 
-        Page<Roles> role = roleService.getAll(page - 1, size, sortBy);
+        Page<RoleView> role = roleService.getAll(page - 1, size, sortBy);
         return ResponseBuilder.paginated(role, "Role retrieved successfully");
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Roles>> getRoleById(
+    public ResponseEntity<ApiResponse<RoleDetail>> getRoleById(
             @PathVariable
             UUID id) {
 
-        Roles role = roleService.getById(id);
+        RoleDetail role = roleService.getById(id);
         return ResponseBuilder.ok(role, "Role retrieved successfully");
     }
 
@@ -66,9 +122,26 @@ public class RoleController {
     public ResponseEntity<ApiResponse<Object>> deleteForm(
             @PathVariable
             UUID id,
-            @RequestHeader("Authorization")  String authHeader) {
-        String token = authHeader.replace("Bearer ", "").trim();
-        roleService.delete(id, token);
+            @RequestParam Long version,
+            @CurrentUser JwtUserInfo user) {
+        roleService.delete(id, version, user);
         return ResponseBuilder.ok("Role deleted successfully");
     }
+
+    @GetMapping("/{id}/menus")
+    public ResponseEntity<ApiResponse<List<UUID>>> getRoleMenus(
+            @PathVariable
+            UUID id) {
+
+        List<UUID> menuIds = rolePermissionService.getMenuIds(id);
+        return ResponseBuilder.ok(menuIds, "Role menus retrieved successfully");
+    }
+
+    @PutMapping("/{id}/menus")
+    public ResponseEntity<ApiResponse<List<UUID>>> replaceRoleMenus(@PathVariable UUID id,
+                                                                    @Validated @RequestBody RoleMenusRequest request,
+                                                                    @CurrentUser JwtUserInfo user) {
+        List<UUID> menuIds = rolePermissionService.replaceMenus(id, request.getMenuIds(), user);
+        return ResponseBuilder.ok(menuIds, "Role menus updated successfully");
+    }
 }
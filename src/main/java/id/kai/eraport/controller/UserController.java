@@ -0,0 +1,41 @@
+package id.kai.eraport.controller;
+
+import id.kai.eraport.common.helper.ResponseBuilder;
+import id.kai.eraport.common.response.ApiResponse;
+import id.kai.eraport.dto.user.UserImportResult;
+import id.kai.eraport.service.interfaces.UserImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@Validated
+@RequestMapping("/api/v1/user")
+public class UserController {
+    @Autowired
+    private UserImportService userImportService;
+
+    /**
+     * Bulk register users from a CSV body (name,email,password,role with header)
+     * The body is streamed, never buffered as a whole
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<UserImportResult>> importCsv(InputStream body) {
+        UserImportResult result = userImportService.importCsv(body);
+        return ResponseBuilder.ok(result, "User import finished");
+    }
+
+    /**
+     * Bulk register users from newline-delimited JSON, one RegisterUserRequest per line
+     */
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<ApiResponse<UserImportResult>> importNdjson(InputStream body) {
+        UserImportResult result = userImportService.importNdjson(body);
+        return ResponseBuilder.ok(result, "User import finished");
+    }
+}
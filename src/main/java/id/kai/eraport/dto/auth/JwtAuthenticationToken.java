@@ -0,0 +1,57 @@
+package id.kai.eraport.dto.auth;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Authentication built once per bearer token by JwtAuthFilter
+ * The principal is the JwtUserInfo decoded from the verified claims
+ */
+public final class JwtAuthenticationToken extends AbstractAuthenticationToken {
+    private final JwtUserInfo principal;
+    private final Claims claims;
+    private final UUID familyId;
+
+    public JwtAuthenticationToken(JwtUserInfo principal, Claims claims, UUID familyId,
+                                  Collection<? extends GrantedAuthority> authorities) {
+        super(authorities);
+        this.principal = principal;
+        this.claims = claims;
+        this.familyId = familyId;
+        setAuthenticated(true);
+    }
+
+    @Override
+    public JwtUserInfo getPrincipal() {
+        return principal;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return principal.getEmail();
+    }
+
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * Refresh token family (login session) this access token was issued for
+     */
+    public UUID getFamilyId() {
+        return familyId;
+    }
+
+    public long getExpiresAt() {
+        return claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L;
+    }
+}
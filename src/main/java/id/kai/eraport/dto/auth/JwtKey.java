@@ -0,0 +1,28 @@
+package id.kai.eraport.dto.auth;
+
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class JwtKey {
+    private final String kid;
+    private final SignatureAlgorithm algorithm;
+    private final PrivateKey privateKey;
+    private final PublicKey publicKey;
+    private final Instant activeFrom;
+    private final Instant verifyUntil;
+
+    public boolean canSign(Instant now) {
+        return privateKey != null && !activeFrom.isAfter(now) && canVerify(now);
+    }
+
+    public boolean canVerify(Instant now) {
+        return verifyUntil == null || verifyUntil.isAfter(now);
+    }
+}
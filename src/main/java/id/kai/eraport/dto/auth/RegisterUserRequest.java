@@ -1,7 +1,6 @@
 package id.kai.eraport.dto.auth;
 
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 
@@ -16,6 +15,8 @@ public class RegisterUserRequest {
     private String email;
     @NotBlank(message = "Email is required")
     private String password;
-    @NotNull(message = "Role is required")
+    /**
+     * Optional on self-registration, which always uses permission.registration-role; required by the import
+     */
     private UUID role;
 }
@@ -0,0 +1,9 @@
+package id.kai.eraport.dto.batch;
+
+import java.util.UUID;
+
+/**
+ * Element of a batch delete request, the id with the version the client read
+ */
+public record BatchDeleteItem(UUID id, Long version) {
+}
@@ -0,0 +1,57 @@
+package id.kai.eraport.dto.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of a batch request, one item per element of the request array in the same order
+ */
+@Data
+@NoArgsConstructor
+public class BatchResult {
+    private int total;
+    private int succeeded;
+    private int failed;
+    private List<Item> items = new ArrayList<>();
+
+    public BatchResult(int total) {
+        this.total = total;
+        this.items = new ArrayList<>(Collections.nCopies(total, null));
+    }
+
+    /**
+     * Record the outcome of the request element at index
+     */
+    public void record(int index, UUID id, Status status, String message) {
+        items.set(index, new Item(index, id, status, message));
+        if (status.isSuccess()) {
+            succeeded++;
+        } else {
+            failed++;
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Item {
+        private int index;
+        private UUID id;
+        private Status status;
+        private String message;
+    }
+
+    public enum Status {
+        CREATED, UPDATED, DELETED, INVALID, NOT_FOUND, CONFLICT;
+
+        public boolean isSuccess() {
+            return this == CREATED || this == UPDATED || this == DELETED;
+        }
+    }
+}
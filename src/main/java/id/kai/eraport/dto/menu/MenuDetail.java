@@ -0,0 +1,12 @@
+package id.kai.eraport.dto.menu;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Menu as returned by the detail endpoint, listing columns plus the audit trail
+ */
+public record MenuDetail(UUID id, String name, String icon, String type, UUID parentMenuId, boolean active,
+                         Timestamp createdAt, UUID createdBy, Timestamp lastModifiedAt, UUID lastModifiedBy,
+                         long version) {
+}
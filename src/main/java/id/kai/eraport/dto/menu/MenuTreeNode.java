@@ -0,0 +1,29 @@
+package id.kai.eraport.dto.menu;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class MenuTreeNode {
+    private UUID id;
+    private String name;
+    private String icon;
+    private String type;
+    private UUID parentMenuId;
+    private boolean isActive;
+    private List<MenuTreeNode> children = new ArrayList<>();
+
+    public static MenuTreeNode from(MenuTreeRow row) {
+        MenuTreeNode node = new MenuTreeNode();
+        node.setId(row.getId());
+        node.setName(row.getName());
+        node.setIcon(row.getIcon());
+        node.setType(row.getType());
+        node.setParentMenuId(row.getParentMenuId());
+        node.setActive(row.getIsActive());
+        return node;
+    }
+}
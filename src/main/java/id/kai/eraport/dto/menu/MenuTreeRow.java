@@ -0,0 +1,16 @@
+package id.kai.eraport.dto.menu;
+
+import java.util.UUID;
+
+/**
+ * Flat row of the recursive menu tree query, ordered by depth then name
+ */
+public interface MenuTreeRow {
+    UUID getId();
+    String getName();
+    String getIcon();
+    String getType();
+    UUID getParentMenuId();
+    boolean getIsActive();
+    int getDepth();
+}
@@ -0,0 +1,11 @@
+package id.kai.eraport.dto.menu;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Menu as returned by listings, selected column by column without a managed entity
+ */
+public record MenuView(UUID id, String name, String icon, String type, UUID parentMenuId, boolean active,
+                       Timestamp createdAt, Timestamp lastModifiedAt, long version) {
+}
@@ -0,0 +1,22 @@
+package id.kai.eraport.dto.role;
+
+import id.kai.eraport.model.Roles;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Immutable role with its audit trail, the row type of the role catalog and the detail endpoint
+ */
+public record RoleDetail(UUID id, String roleName, Timestamp createdAt, UUID createdBy,
+                         Timestamp lastModifiedAt, UUID lastModifiedBy, long version) {
+
+    public static RoleDetail from(Roles role) {
+        return new RoleDetail(role.getId(), role.getRoleName(), role.getCreatedAt(), role.getCreatedBy(),
+                role.getLastModifiedAt(), role.getLastModifiedBy(), role.getVersion());
+    }
+
+    public RoleView toView() {
+        return new RoleView(id, roleName, createdAt, lastModifiedAt, version);
+    }
+}
@@ -0,0 +1,6 @@
+package id.kai.eraport.dto.role;
+
+import java.util.UUID;
+
+public record RoleMenuGrant(UUID roleId, UUID menuId) {
+}
@@ -0,0 +1,13 @@
+package id.kai.eraport.dto.role;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class RoleMenusRequest {
+    @NotNull(message = "Menu ids is required")
+    private List<UUID> menuIds;
+}
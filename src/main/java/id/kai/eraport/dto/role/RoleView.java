@@ -0,0 +1,10 @@
+package id.kai.eraport.dto.role;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Role as returned by listings
+ */
+public record RoleView(UUID id, String roleName, Timestamp createdAt, Timestamp lastModifiedAt, long version) {
+}
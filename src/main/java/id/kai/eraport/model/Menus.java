@@ -1,7 +1,10 @@
 package id.kai.eraport.model;
 
+import id.kai.eraport.common.annotation.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.sql.Timestamp;
 import java.util.UUID;
@@ -9,13 +12,11 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "menus")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "menus")
 public class Menus {
     @Id
-    @GeneratedValue
-    @org.hibernate.annotations.GenericGenerator(
-            name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator"
-    )
+    @UuidV7Id
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -37,6 +38,13 @@ public class Menus {
     @Column(name = "is_deleted")
     private boolean isDeleted;
 
+    /**
+     * Optimistic lock, clients send back the version they read when updating or deleting
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "created_at")
     private Timestamp createdAt;
 
@@ -0,0 +1,46 @@
+package id.kai.eraport.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Data
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshTokens {
+    /**
+     * The jti claim of the refresh token
+     */
+    @Id
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    /**
+     * All tokens rotated from the same login share a family, reuse of any of them revokes the family
+     */
+    @Column(name = "family_id", columnDefinition = "UUID")
+    private UUID familyId;
+
+    @Column(name = "user_id", columnDefinition = "UUID")
+    private UUID userId;
+
+    @Column(name = "expires_at")
+    private Timestamp expiresAt;
+
+    @Column(name = "used_at")
+    private Timestamp usedAt;
+
+    @Column(name = "replaced_by", columnDefinition = "UUID")
+    private UUID replacedBy;
+
+    @Column(name = "is_revoked")
+    private boolean isRevoked;
+
+    @Column(name = "revoked_at")
+    private Timestamp revokedAt;
+
+    @Column(name = "created_at")
+    private Timestamp createdAt;
+}
@@ -0,0 +1,34 @@
+package id.kai.eraport.model;
+
+import id.kai.eraport.common.annotation.UuidV7Id;
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Grants a role access to a menu, and through it to the endpoints guarded by that menu
+ */
+@Data
+@Entity
+@Table(name = "role_menus",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"role_id", "menu_id"}))
+public class RoleMenus {
+    @Id
+    @UuidV7Id
+    @Column(columnDefinition = "UUID")
+    private UUID id;
+
+    @Column(name = "role_id", columnDefinition = "UUID")
+    private UUID roleId;
+
+    @Column(name = "menu_id", columnDefinition = "UUID")
+    private UUID menuId;
+
+    @Column(name = "created_at")
+    private Timestamp createdAt;
+
+    @Column(name = "created_by")
+    private UUID createdBy;
+}
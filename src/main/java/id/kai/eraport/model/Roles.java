@@ -1,7 +1,12 @@
 package id.kai.eraport.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import id.kai.eraport.common.annotation.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.sql.Timestamp;
 import java.util.UUID;
@@ -9,13 +14,11 @@ import java.util.UUID;
 @Data
 @Entity
 @Table(name = "roles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 public class Roles {
     @Id
-    @GeneratedValue
-    @org.hibernate.annotations.GenericGenerator(
-            name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator"
-    )
+    @UuidV7Id
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -25,6 +28,21 @@ public class Roles {
     @Column(name = "is_deleted")
     private boolean isDeleted;
 
+    /**
+     * Passes every permission rule, set in the database only, never through the API
+     */
+    @JsonIgnore
+    @ColumnDefault("false")
+    @Column(name = "is_admin", insertable = false, updatable = false)
+    private boolean isAdmin;
+
+    /**
+     * Optimistic lock, clients send back the version they read when updating or deleting
+     */
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "created_at")
     private Timestamp createdAt;
 
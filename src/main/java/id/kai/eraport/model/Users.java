@@ -1,5 +1,6 @@
 package id.kai.eraport.model;
 
+import id.kai.eraport.common.annotation.UuidV7Id;
 import jakarta.persistence.*;
 import lombok.Data;
 
@@ -11,11 +12,7 @@ import java.util.UUID;
 @Table(name = "users")
 public class Users {
     @Id
-    @GeneratedValue
-    @org.hibernate.annotations.GenericGenerator(
-            name = "UUID",
-            strategy = "org.hibernate.id.UUIDGenerator"
-    )
+    @UuidV7Id
     @Column(columnDefinition = "UUID")
     private UUID id;
 
@@ -1,17 +1,130 @@
 package id.kai.eraport.repository.db;
 
+import id.kai.eraport.dto.menu.MenuDetail;
+import id.kai.eraport.dto.menu.MenuTreeRow;
+import id.kai.eraport.dto.menu.MenuView;
 import id.kai.eraport.model.Menus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface MenuRepository extends JpaRepository<Menus, UUID> {
+public interface MenuRepository extends JpaRepository<Menus, UUID>, MenuRepositoryCustom {
+    /**
+     * Query cache region of menu reads, evicted on writes by ClusterCacheInvalidator
+     */
+    String QUERY_CACHE_REGION = "menu-queries";
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Optional<Menus> findByIdAndIsDeletedFalse(UUID id);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     Page<Menus> findAllByIsDeletedFalse(Pageable pageable);
+
+    List<Menus> findAllByIsDeletedFalse(Sort sort);
+
+    String VIEW_SELECT = "select new id.kai.eraport.dto.menu.MenuView(m.id, m.name, m.icon, m.type, "
+            + "m.parentMenuId, m.isActive, m.createdAt, m.lastModifiedAt, m.version) from Menus m ";
+
+    /**
+     * Listing rows selected column by column, no entities are loaded, snapshotted or dirty-checked
+     * Returns a Slice so no count query runs, see PageCounter
+     */
+    @Query(VIEW_SELECT + "where m.isDeleted = false")
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    Slice<MenuView> findViewsByIsDeletedFalse(Pageable pageable);
+
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
+    @Query("select new id.kai.eraport.dto.menu.MenuDetail(m.id, m.name, m.icon, m.type, m.parentMenuId, "
+            + "m.isActive, m.createdAt, m.createdBy, m.lastModifiedAt, m.lastModifiedBy, m.version) "
+            + "from Menus m where m.id = :id and m.isDeleted = false")
+    Optional<MenuDetail> findDetailById(@Param("id") UUID id);
+
+    long countByIsDeletedFalse();
+    boolean existsByIdAndIsDeletedFalse(UUID id);
+
+    /**
+     * Update in one statement, without loading the row
+     *
+     * @param version Version the client read
+     * @return 1 when updated, 0 when the menu is missing, deleted or at another version
+     */
+    @Modifying
+    @Query("update Menus m set m.name = :name, m.isActive = :active, m.lastModifiedAt = :now, " +
+            "m.lastModifiedBy = :userId, m.version = m.version + 1 " +
+            "where m.id = :id and m.isDeleted = false and m.version = :version")
+    int updateIfCurrent(@Param("id") UUID id, @Param("version") Long version, @Param("name") String name,
+                        @Param("active") boolean active, @Param("now") Timestamp now, @Param("userId") UUID userId);
+
+    /**
+     * @param version Version the client read
+     * @return 1 when deleted, 0 when the menu is missing, already deleted or at another version
+     */
+    @Modifying
+    @Query("update Menus m set m.isDeleted = true, m.lastModifiedAt = :now, m.lastModifiedBy = :userId, " +
+            "m.version = m.version + 1 " +
+            "where m.id = :id and m.isDeleted = false and m.version = :version")
+    int softDeleteIfCurrent(@Param("id") UUID id, @Param("version") Long version,
+                            @Param("now") Timestamp now, @Param("userId") UUID userId);
     Page<Menus> findAllByParentMenuIdAndIsDeletedFalse(UUID parentMenuId, Pageable pageable);
+
+    String TREE_COLUMNS = "id, name, icon, type, parent_menu_id as \"parentMenuId\", is_active as \"isActive\", depth ";
+    String TREE_CHILDREN = "union all "
+            + "select c.id, c.name, c.icon, c.type, c.parent_menu_id, c.is_active, t.depth + 1 "
+            + "from menus c join tree t on c.parent_menu_id = t.id "
+            + "where c.is_deleted = false and (:includeInactive or c.is_active) and t.depth < :maxDepth) ";
+
+    /**
+     * Whole hierarchy below the top level menus in one round trip, bounded by maxDepth
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "menus")})
+    @Query(value = "with recursive tree as ("
+            + "select m.id, m.name, m.icon, m.type, m.parent_menu_id, m.is_active, 1 as depth "
+            + "from menus m where m.parent_menu_id is null and m.is_deleted = false and (:includeInactive or m.is_active) "
+            + TREE_CHILDREN
+            + "select " + TREE_COLUMNS + "from tree order by depth, name", nativeQuery = true)
+    List<MenuTreeRow> findTree(@Param("maxDepth") int maxDepth,
+                               @Param("includeInactive") boolean includeInactive);
+
+    /**
+     * Subtree rooted at rootId (the root itself is depth 1), bounded by maxDepth
+     */
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "menus")})
+    @Query(value = "with recursive tree as ("
+            + "select m.id, m.name, m.icon, m.type, m.parent_menu_id, m.is_active, 1 as depth "
+            + "from menus m where m.id = :rootId and m.is_deleted = false and (:includeInactive or m.is_active) "
+            + TREE_CHILDREN
+            + "select " + TREE_COLUMNS + "from tree order by depth, name", nativeQuery = true)
+    List<MenuTreeRow> findSubtree(@Param("rootId") UUID rootId,
+                                  @Param("maxDepth") int maxDepth,
+                                  @Param("includeInactive") boolean includeInactive);
+
+    /**
+     * Ids among ids that are still active, tells a version conflict from a missing row after a guarded batch
+     */
+    @Query("select m.id from Menus m where m.id in :ids and m.isDeleted = false")
+    List<UUID> findActiveIds(@Param("ids") Collection<UUID> ids);
 }
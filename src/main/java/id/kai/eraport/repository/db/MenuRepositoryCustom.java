@@ -0,0 +1,19 @@
+package id.kai.eraport.repository.db;
+
+import id.kai.eraport.common.pagination.Cursor;
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.common.pagination.SortField;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.menu.MenuView;
+import id.kai.eraport.model.Menus;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface MenuRepositoryCustom {
+    CursorPage<MenuView> findActiveAfter(SortField<MenuView> field, Cursor after, int size);
+    int[] updateAllIfCurrent(List<Menus> menus, Timestamp now, UUID userId);
+    Set<UUID> softDeleteAll(List<BatchDeleteItem> items, Timestamp now, UUID userId);
+}
@@ -0,0 +1,115 @@
+package id.kai.eraport.repository.db;
+
+import id.kai.eraport.common.pagination.Cursor;
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.common.pagination.SortField;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.menu.MenuView;
+import id.kai.eraport.model.Menus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class MenuRepositoryCustomImpl implements MenuRepositoryCustom {
+    private static final String UPDATE_SQL = "update menus set name = ?, is_active = ?, last_modified_at = ?, "
+            + "last_modified_by = ?, version = version + 1 "
+            + "where id = ? and is_deleted = false and version = ?";
+    private static final String SOFT_DELETE_SQL = "update menus m set is_deleted = true, last_modified_at = ?, "
+            + "last_modified_by = ?, version = m.version + 1 from unnest(?::uuid[], ?::bigint[]) as t(id, version) "
+            + "where m.id = t.id and m.version = t.version and m.is_deleted = false returning m.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Keyset page of active menu views ordered by (field, id), nulls last
+     * Seeks with a row value comparison instead of OFFSET and never counts,
+     * one extra row is fetched to know whether another page exists
+     *
+     * @param field Whitelisted sort field, its name is interpolated into the query
+     * @param after Position after the previous page, or null for the first page
+     * @param size  Page size
+     * @return Page with the cursor of its last row when more rows follow
+     */
+    public CursorPage<MenuView> findActiveAfter(SortField<MenuView> field, Cursor after, int size) {
+        String key = "m." + field.name();
+        boolean byId = "id".equals(field.name());
+
+        StringBuilder jpql = new StringBuilder(MenuRepository.VIEW_SELECT).append("where m.isDeleted = false");
+        if (after != null) {
+            if (byId) {
+                jpql.append(" and m.id > :id");
+            } else if (after.key() == null) {
+                jpql.append(" and ").append(key).append(" is null and m.id > :id");
+            } else {
+                jpql.append(" and ((").append(key).append(", m.id) > (:key, :id) or ")
+                        .append(key).append(" is null)");
+            }
+        }
+        jpql.append(byId ? " order by m.id" : " order by " + key + " asc nulls last, m.id asc");
+
+        TypedQuery<MenuView> query = entityManager.createQuery(jpql.toString(), MenuView.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, MenuRepository.QUERY_CACHE_REGION);
+        if (after != null) {
+            query.setParameter("id", after.id());
+            if (!byId && after.key() != null) {
+                query.setParameter("key", after.key());
+            }
+        }
+
+        List<MenuView> rows = query.setMaxResults(size + 1).getResultList();
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, size, null);
+        }
+
+        List<MenuView> content = rows.subList(0, size);
+        MenuView last = content.get(size - 1);
+        return new CursorPage<>(content, size, Cursor.after(field, last, last.id()).encode(field));
+    }
+
+    /**
+     * Guarded updates sent as one JDBC batch, same semantics as MenuRepository.updateIfCurrent
+     *
+     * @return Affected rows per menu, 0 when missing, deleted or at another version
+     */
+    public int[] updateAllIfCurrent(List<Menus> menus, Timestamp now, UUID userId) {
+        return jdbcTemplate.batchUpdate(UPDATE_SQL, menus, menus.size(), (ps, menu) -> {
+            ps.setString(1, menu.getName());
+            ps.setBoolean(2, menu.isActive());
+            ps.setTimestamp(3, now);
+            ps.setObject(4, userId);
+            ps.setObject(5, menu.getId());
+            ps.setObject(6, menu.getVersion(), Types.BIGINT);
+        })[0];
+    }
+
+    /**
+     * Soft-delete with one statement every active menu among items that is still at the version given with it
+     *
+     * @return Ids actually deleted
+     */
+    public Set<UUID> softDeleteAll(List<BatchDeleteItem> items, Timestamp now, UUID userId) {
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SOFT_DELETE_SQL);
+            ps.setTimestamp(1, now);
+            ps.setObject(2, userId);
+            ps.setArray(3, con.createArrayOf("uuid", items.stream().map(BatchDeleteItem::id).toArray()));
+            ps.setArray(4, con.createArrayOf("bigint", items.stream().map(BatchDeleteItem::version).toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+    }
+}
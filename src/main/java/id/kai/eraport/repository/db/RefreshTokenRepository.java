@@ -0,0 +1,34 @@
+package id.kai.eraport.repository.db;
+
+import id.kai.eraport.model.RefreshTokens;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshTokens, UUID> {
+
+    /**
+     * Consume a refresh token exactly once
+     *
+     * @return 1 when this call rotated the token, 0 when it was already used, revoked or expired
+     */
+    @Modifying
+    @Query("update RefreshTokens r set r.usedAt = :now, r.replacedBy = :replacedBy " +
+            "where r.id = :id and r.usedAt is null and r.isRevoked = false and r.expiresAt > :now")
+    int markUsed(@Param("id") UUID id, @Param("replacedBy") UUID replacedBy, @Param("now") Timestamp now);
+
+    @Modifying
+    @Query("update RefreshTokens r set r.isRevoked = true, r.revokedAt = :now " +
+            "where r.familyId = :familyId and r.isRevoked = false")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") Timestamp now);
+
+    @Query("select distinct r.familyId from RefreshTokens r where r.isRevoked = true and r.revokedAt > :since")
+    List<UUID> findFamiliesRevokedSince(@Param("since") Timestamp since);
+}
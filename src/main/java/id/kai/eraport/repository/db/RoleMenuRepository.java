@@ -0,0 +1,32 @@
+package id.kai.eraport.repository.db;
+
+import id.kai.eraport.dto.role.RoleMenuGrant;
+import id.kai.eraport.model.RoleMenus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RoleMenuRepository extends JpaRepository<RoleMenus, UUID> {
+
+    /**
+     * Every grant whose role and menu are both still active
+     */
+    @Query("select new id.kai.eraport.dto.role.RoleMenuGrant(rm.roleId, rm.menuId) " +
+            "from RoleMenus rm, Roles r, Menus m " +
+            "where r.id = rm.roleId and m.id = rm.menuId and r.isDeleted = false and m.isDeleted = false")
+    List<RoleMenuGrant> findActiveGrants();
+
+    @Query("select rm.menuId from RoleMenus rm, Menus m " +
+            "where m.id = rm.menuId and rm.roleId = :roleId and m.isDeleted = false")
+    List<UUID> findMenuIdsByRoleId(@Param("roleId") UUID roleId);
+
+    @Modifying
+    @Query("delete from RoleMenus rm where rm.roleId = :roleId")
+    int deleteByRoleId(@Param("roleId") UUID roleId);
+}
@@ -1,17 +1,61 @@
 package id.kai.eraport.repository.db;
 
+import id.kai.eraport.dto.role.RoleDetail;
 import id.kai.eraport.model.Roles;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface RoleRepository extends JpaRepository<Roles, UUID> {
-    Optional<Roles> findByIdAndIsDeletedFalse(UUID id);
-    Page<Roles> findAllByIsDeletedFalse(Pageable pageable);
+public interface RoleRepository extends JpaRepository<Roles, UUID>, RoleRepositoryCustom {
+    // Role reads are served by RoleCatalog, so no role query goes through the query cache
+
+    boolean existsByIdAndIsDeletedFalse(UUID id);
+
+    /**
+     * Rename in one statement, without loading the row
+     *
+     * @param version Version the client read
+     * @return 1 when updated, 0 when the role is missing, deleted or at another version
+     */
+    @Modifying
+    @Query("update Roles r set r.roleName = :roleName, r.lastModifiedAt = :now, r.lastModifiedBy = :userId, " +
+            "r.version = r.version + 1 " +
+            "where r.id = :id and r.isDeleted = false and r.version = :version")
+    int updateIfCurrent(@Param("id") UUID id, @Param("version") Long version, @Param("roleName") String roleName,
+                        @Param("now") Timestamp now, @Param("userId") UUID userId);
+
+    /**
+     * @param version Version the client read
+     * @return 1 when deleted, 0 when the role is missing, already deleted or at another version
+     */
+    @Modifying
+    @Query("update Roles r set r.isDeleted = true, r.lastModifiedAt = :now, r.lastModifiedBy = :userId, " +
+            "r.version = r.version + 1 " +
+            "where r.id = :id and r.isDeleted = false and r.version = :version")
+    int softDeleteIfCurrent(@Param("id") UUID id, @Param("version") Long version,
+                            @Param("now") Timestamp now, @Param("userId") UUID userId);
+
+    /**
+     * Active roles as immutable records, read without entering the persistence context
+     */
+    @Query("select new id.kai.eraport.dto.role.RoleDetail(r.id, r.roleName, r.createdAt, r.createdBy, " +
+            "r.lastModifiedAt, r.lastModifiedBy, r.version) from Roles r where r.isDeleted = false")
+    List<RoleDetail> findAllDetails();
+
+    /**
+     * Ids among ids that are still active, tells a version conflict from a missing row after a guarded batch
+     */
+    @Query("select r.id from Roles r where r.id in :ids and r.isDeleted = false")
+    List<UUID> findActiveIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("select r.id from Roles r where r.isAdmin = true and r.isDeleted = false")
+    List<UUID> findAdminIds();
 }
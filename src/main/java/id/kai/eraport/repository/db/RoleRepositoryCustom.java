@@ -0,0 +1,14 @@
+package id.kai.eraport.repository.db;
+
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.model.Roles;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public interface RoleRepositoryCustom {
+    int[] updateAllIfCurrent(List<Roles> roles, Timestamp now, UUID userId);
+    Set<UUID> softDeleteAll(List<BatchDeleteItem> items, Timestamp now, UUID userId);
+}
@@ -0,0 +1,55 @@
+package id.kai.eraport.repository.db;
+
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.model.Roles;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+public class RoleRepositoryCustomImpl implements RoleRepositoryCustom {
+    private static final String UPDATE_SQL = "update roles set role_name = ?, last_modified_at = ?, last_modified_by = ?, "
+            + "version = version + 1 where id = ? and is_deleted = false and version = ?";
+    private static final String SOFT_DELETE_SQL = "update roles m set is_deleted = true, last_modified_at = ?, "
+            + "last_modified_by = ?, version = m.version + 1 from unnest(?::uuid[], ?::bigint[]) as t(id, version) "
+            + "where m.id = t.id and m.version = t.version and m.is_deleted = false returning m.id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Guarded renames sent as one JDBC batch, same semantics as RoleRepository.updateIfCurrent
+     *
+     * @return Affected rows per role, 0 when missing, deleted or at another version
+     */
+    public int[] updateAllIfCurrent(List<Roles> roles, Timestamp now, UUID userId) {
+        return jdbcTemplate.batchUpdate(UPDATE_SQL, roles, roles.size(), (ps, role) -> {
+            ps.setString(1, role.getRoleName());
+            ps.setTimestamp(2, now);
+            ps.setObject(3, userId);
+            ps.setObject(4, role.getId());
+            ps.setObject(5, role.getVersion(), Types.BIGINT);
+        })[0];
+    }
+
+    /**
+     * Soft-delete with one statement every active role among items that is still at the version given with it
+     *
+     * @return Ids actually deleted
+     */
+    public Set<UUID> softDeleteAll(List<BatchDeleteItem> items, Timestamp now, UUID userId) {
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(SOFT_DELETE_SQL);
+            ps.setTimestamp(1, now);
+            ps.setObject(2, userId);
+            ps.setArray(3, con.createArrayOf("uuid", items.stream().map(BatchDeleteItem::id).toArray()));
+            ps.setArray(4, con.createArrayOf("bigint", items.stream().map(BatchDeleteItem::version).toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class)));
+    }
+}
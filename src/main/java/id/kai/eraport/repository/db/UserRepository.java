@@ -1,13 +1,59 @@
 package id.kai.eraport.repository.db;
 
 import id.kai.eraport.model.Users;
+import jakarta.persistence.QueryHint;
+import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<Users, UUID> {
-    Optional<Users> findByEmailAndIsDeletedFalse(String email);
+    /**
+     * Case-insensitive, matches the unique index on lower(email) of active users
+     */
+    @Query("select u from Users u where lower(u.email) = lower(:email) and u.isDeleted = false")
+    Optional<Users> findByEmailAndIsDeletedFalse(@Param("email") String email);
+
+    /**
+     * @param emails Lower-cased emails
+     * @return The lower-cased emails already taken by active users
+     */
+    @Query("select lower(u.email) from Users u where lower(u.email) in :emails and u.isDeleted = false")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Insert guarded by the unique index on lower(email) of active users
+     * The native spaces hint keeps Hibernate from invalidating every cached query on each registration
+     *
+     * @return 1 when inserted, 0 when the email is already taken
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "insert into users (id, name, email, password, role, is_deleted, created_at) " +
+            "values (:id, :name, :email, :password, :role, false, :createdAt) " +
+            "on conflict (lower(email)) where not is_deleted do nothing", nativeQuery = true)
+    int insertIfEmailFree(@Param("id") UUID id, @Param("name") String name, @Param("email") String email,
+                          @Param("password") String password, @Param("role") UUID role,
+                          @Param("createdAt") Timestamp createdAt);
+
+    /**
+     * Store a rehashed password without loading and merging the entity again
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "update users set password = :password where id = :id", nativeQuery = true)
+    int updatePassword(@Param("id") UUID id, @Param("password") String password);
 }
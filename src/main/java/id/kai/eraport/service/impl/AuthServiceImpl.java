@@ -1,25 +1,38 @@
 package id.kai.eraport.service.impl;
 
+import id.kai.eraport.common.cache.PermissionMatrix;
+import id.kai.eraport.common.cache.UserAuthCache;
+import id.kai.eraport.common.util.UuidV7;
+import id.kai.eraport.dto.auth.JwtUserInfo;
 import id.kai.eraport.dto.auth.LoginResponse;
 import id.kai.eraport.dto.auth.RegisterUserRequest;
 import id.kai.eraport.exception.DuplicateResourceException;
+import id.kai.eraport.exception.ForbiddenException;
 import id.kai.eraport.exception.InvalidCredentialsException;
 import id.kai.eraport.exception.ResourceNotFoundException;
 import id.kai.eraport.exception.UnauthorizedException;
-import id.kai.eraport.model.Roles;
+import id.kai.eraport.model.RefreshTokens;
 import id.kai.eraport.model.Users;
-import id.kai.eraport.repository.db.RoleRepository;
+import id.kai.eraport.repository.db.RefreshTokenRepository;
 import id.kai.eraport.repository.db.UserRepository;
 import id.kai.eraport.service.interfaces.AuthService;
 import id.kai.eraport.service.interfaces.JwtService;
+import id.kai.eraport.service.interfaces.PasswordHasher;
+import id.kai.eraport.service.interfaces.TokenRevocationService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
+import java.util.UUID;
 
 @Service
 @Transactional
@@ -28,68 +41,205 @@ public class AuthServiceImpl implements AuthService {
     private UserRepository userRepository;
 
     @Autowired
-    private RoleRepository roleRepository;
+    private PermissionMatrix permissionMatrix;
 
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserAuthCache userAuthCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${jwt.refresh.reuse-grace-ms:10000}")
+    private long reuseGraceMillis;
+
     private static final Logger log = LoggerFactory.getLogger(AuthService.class);
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    // BCrypt as seen by the request, queueing on the hashing pool included
+    private Timer passwordVerifyTimer;
+    private Timer passwordEncodeTimer;
 
+    @PostConstruct
+    public void initMetrics() {
+        passwordVerifyTimer = passwordTimer("verify");
+        passwordEncodeTimer = passwordTimer("encode");
+    }
+
+    private Timer passwordTimer(String operation) {
+        return Timer.builder("auth.password")
+                .description("Password hashing and verification, including the wait for the hashing pool")
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs outside a transaction so no connection is held while waiting for the hashing pool:
+     * the lookup, the rehash and the refresh token insert are each their own short transaction
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public LoginResponse login(String email, String password) {
         Users user = userRepository.findByEmailAndIsDeletedFalse(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
 
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        if (!passwordVerifyTimer.record(() -> passwordHasher.matches(password, user.getPassword()))) {
             throw new InvalidCredentialsException("Invalid password");
         }
 
-        String accessToken = jwtService.generateAccessToken(user);
-        String refreshToken = jwtService.generateRefreshToken(user);
-
-        LoginResponse loginResponse = new LoginResponse();
-        loginResponse.setAccessToken(accessToken);
-        loginResponse.setRefreshToken(refreshToken);
+        // Transparently move the stored hash to the currently configured cost factor
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            user.setPassword(passwordEncodeTimer.record(() -> passwordHasher.encode(password)));
+            userRepository.updatePassword(user.getId(), user.getPassword());
+        }
 
-        return loginResponse;
+        JwtUserInfo userInfo = toUserInfo(user);
+        userAuthCache.put(userInfo);
+        return issueTokens(userInfo, UUID.randomUUID());
     }
 
+    /**
+     * Self-registration always gets the configured registration role, other roles are assigned
+     * by user administrators through the import
+     * Hashes before touching the database, the guarded insert is the only transaction
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public Users register(RegisterUserRequest request) {
+        UUID role = permissionMatrix.getRegistrationRole();
+        if (role == null) {
+            throw new ForbiddenException("Self-registration is disabled");
+        }
+        if (request.getRole() != null && !request.getRole().equals(role)) {
+            throw new ForbiddenException("This role cannot be chosen at registration");
+        }
+
         Users users = new Users();
+        users.setId(UuidV7.next());
         users.setName(request.getName());
-        if (userRepository.findByEmailAndIsDeletedFalse(request.getEmail()).isPresent()) {
-            throw new DuplicateResourceException("Email already registered!");
-        }
-        Roles roles = roleRepository.findByIdAndIsDeletedFalse(request.getRole()).orElseThrow(()
-                -> new ResourceNotFoundException("Role not found!"));
-        users.setRole(roles.getId());
+        users.setRole(role);
         users.setEmail(request.getEmail());
         users.setCreatedAt(new Timestamp(System.currentTimeMillis()));
-        users.setPassword(passwordEncoder.encode(request.getPassword()));
+        users.setPassword(passwordEncodeTimer.record(() -> passwordHasher.encode(request.getPassword())));
         users.setDeleted(false);
-        userRepository.save(users);
+
+        // The unique index decides, so two concurrent registrations cannot both pass a pre-check
+        int inserted = userRepository.insertIfEmailFree(users.getId(), users.getName(), users.getEmail(),
+                users.getPassword(), users.getRole(), users.getCreatedAt());
+        if (inserted == 0) {
+            throw new DuplicateResourceException("Email already registered!");
+        }
+        userAuthCache.invalidate(users.getEmail());
 
         return users;
     }
 
     public LoginResponse refreshToken(String refreshToken) {
-        if (!jwtService.isTokenValid(refreshToken)) {
+        Claims claims = parseRefreshToken(refreshToken);
+        UUID tokenId = UUID.fromString(claims.getId());
+        UUID familyId = jwtService.extractFamilyId(claims);
+
+        if (tokenRevocationService.isRevoked(familyId)) {
+            throw new UnauthorizedException("Refresh token has been revoked");
+        }
+
+        UUID nextTokenId = UUID.randomUUID();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        if (refreshTokenRepository.markUsed(tokenId, nextTokenId, now) == 0) {
+            return refreshReused(tokenId, familyId, claims.getSubject(), now);
+        }
+
+        return issueTokens(loadUser(claims.getSubject()), familyId, nextTokenId);
+    }
+
+    /**
+     * A token used again within the grace window is a concurrent refresh, e.g. two tabs, not a theft:
+     * the caller gets the successor already issued while it is unused, otherwise only this request fails
+     * Reuse after the window, or of a token that was never rotated, revokes the whole family
+     */
+    private LoginResponse refreshReused(UUID tokenId, UUID familyId, String email, Timestamp now) {
+        RefreshTokens used = refreshTokenRepository.findById(tokenId).orElse(null);
+        if (used != null && !used.isRevoked() && used.getUsedAt() != null && used.getReplacedBy() != null
+                && now.getTime() - used.getUsedAt().getTime() <= reuseGraceMillis) {
+            RefreshTokens successor = refreshTokenRepository.findById(used.getReplacedBy()).orElse(null);
+            if (successor != null && successor.getUsedAt() == null && !successor.isRevoked()
+                    && successor.getExpiresAt().after(now)) {
+                return signTokens(loadUser(email), familyId, successor.getId());
+            }
+            throw new UnauthorizedException("Refresh token was already rotated");
+        }
+
+        // Already rotated, revoked or unknown: a replayed token means the family may be stolen
+        log.warn("Refresh token reuse detected, revoking family {}", familyId);
+        tokenRevocationService.revokeFamily(familyId);
+        throw new UnauthorizedException("Invalid or expired refresh token");
+    }
+
+    private JwtUserInfo loadUser(String email) {
+        JwtUserInfo user = userAuthCache.get(email, key ->
+                userRepository.findByEmailAndIsDeletedFalse(key).map(AuthServiceImpl::toUserInfo).orElse(null));
+        if (user == null) {
+            throw new UnauthorizedException("User not found");
+        }
+        return user;
+    }
+
+    public void logout(String refreshToken) {
+        Claims claims = parseRefreshToken(refreshToken);
+        tokenRevocationService.revokeFamily(jwtService.extractFamilyId(claims));
+    }
+
+    private Claims parseRefreshToken(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtService.extractAllClaims(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
             throw new UnauthorizedException("Invalid or expired refresh token");
         }
 
-        String email = jwtService.extractEmail(refreshToken);
+        // Tokens issued before rotation was introduced carry no jti/fid and must log in again
+        if (claims.getId() == null || jwtService.extractFamilyId(claims) == null) {
+            throw new UnauthorizedException("Invalid or expired refresh token");
+        }
+        return claims;
+    }
 
-        Users user = userRepository.findByEmailAndIsDeletedFalse(email)
-                .orElseThrow(() -> new UnauthorizedException("User not found"));
+    private LoginResponse issueTokens(JwtUserInfo user, UUID familyId) {
+        return issueTokens(user, familyId, UUID.randomUUID());
+    }
+
+    private LoginResponse issueTokens(JwtUserInfo user, UUID familyId, UUID refreshTokenId) {
+        long now = System.currentTimeMillis();
+
+        RefreshTokens token = new RefreshTokens();
+        token.setId(refreshTokenId);
+        token.setFamilyId(familyId);
+        token.setUserId(user.getId());
+        token.setCreatedAt(new Timestamp(now));
+        token.setExpiresAt(new Timestamp(now + JwtServiceImpl.EXPIRATION_TIME_REFRESH_TOKEN));
+        token.setRevoked(false);
+        refreshTokenRepository.save(token);
 
-        String newAccessToken = jwtService.generateAccessToken(user);
-        String newRefreshToken = jwtService.generateRefreshToken(user);
+        return signTokens(user, familyId, refreshTokenId);
+    }
 
+    private LoginResponse signTokens(JwtUserInfo user, UUID familyId, UUID refreshTokenId) {
         LoginResponse loginResponse = new LoginResponse();
-        loginResponse.setAccessToken(newAccessToken);
-        loginResponse.setRefreshToken(newRefreshToken);
+        loginResponse.setAccessToken(jwtService.generateAccessToken(user, familyId));
+        loginResponse.setRefreshToken(jwtService.generateRefreshToken(user, familyId, refreshTokenId));
 
         return loginResponse;
     }
+
+    private static JwtUserInfo toUserInfo(Users user) {
+        return new JwtUserInfo(user.getId(), user.getName(), user.getEmail(), user.getRole());
+    }
 }
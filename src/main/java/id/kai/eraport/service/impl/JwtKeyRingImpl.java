@@ -0,0 +1,246 @@
+package id.kai.eraport.service.impl;
+
+import id.kai.eraport.configuration.JwtKeyProperties;
+import id.kai.eraport.dto.auth.JwtKey;
+import id.kai.eraport.service.interfaces.JwtKeyRing;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Asymmetric signing keys identified by kid
+ * The newest key whose activeFrom has passed signs new tokens, every key that is not past
+ * verifyUntil is accepted and published, so rotations can overlap across nodes
+ */
+@Service
+public class JwtKeyRingImpl implements JwtKeyRing {
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRingImpl.class);
+
+    private final JwtKeyProperties properties;
+    private final ResourceLoader resourceLoader;
+
+    private volatile State state;
+
+    public JwtKeyRingImpl(JwtKeyProperties properties, ResourceLoader resourceLoader) {
+        this.properties = properties;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void init() {
+        state = load();
+    }
+
+    public JwtKey getSigningKey() {
+        Instant now = Instant.now();
+        for (JwtKey key : state.keys()) {
+            if (key.canSign(now)) {
+                return key;
+            }
+        }
+        throw new IllegalStateException("No active JWT signing key");
+    }
+
+    public PublicKey getVerificationKey(String kid) {
+        JwtKey key = kid != null ? state.byKid().get(kid) : null;
+        if (key == null || !key.canVerify(Instant.now())) {
+            return null;
+        }
+        return key.getPublicKey();
+    }
+
+    public Map<String, Object> getJwks() {
+        return state.jwks();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.keys.reload-interval-ms:300000}",
+            initialDelayString = "${jwt.keys.reload-interval-ms:300000}")
+    public void reload() {
+        if (properties.getEntries().isEmpty()) {
+            // The ephemeral key must survive for the lifetime of this process
+            return;
+        }
+
+        try {
+            state = load();
+        } catch (Exception e) {
+            log.error("JWT key ring reload failed, keeping the previous keys: {}", e.getMessage());
+        }
+    }
+
+    private State load() {
+        List<JwtKey> keys = new ArrayList<>();
+
+        if (properties.getEntries().isEmpty()) {
+            log.warn("No jwt.keys.entries configured, generating an ephemeral {} key. "
+                    + "Tokens will not survive a restart or verify on other nodes.", properties.getAlgorithm());
+            keys.add(generateEphemeralKey(properties.getAlgorithm()));
+        } else {
+            KeyStore keyStore = loadKeyStore();
+            for (JwtKeyProperties.Entry entry : properties.getEntries()) {
+                keys.add(loadEntry(entry, keyStore));
+            }
+        }
+
+        // Newest activation first so the signing key lookup stops at the first match
+        keys.sort(Comparator.comparing(JwtKey::getActiveFrom).reversed());
+
+        Map<String, JwtKey> byKid = new HashMap<>();
+        List<Map<String, Object>> published = new ArrayList<>();
+        Instant now = Instant.now();
+        for (JwtKey key : keys) {
+            if (byKid.put(key.getKid(), key) != null) {
+                throw new IllegalStateException("Duplicate JWT key id: " + key.getKid());
+            }
+            if (key.canVerify(now)) {
+                published.add(toJwk(key));
+            }
+        }
+
+        log.info("JWT key ring loaded {} key(s)", keys.size());
+        return new State(List.copyOf(keys), Map.copyOf(byKid), Map.of("keys", List.copyOf(published)));
+    }
+
+    private JwtKey loadEntry(JwtKeyProperties.Entry entry, KeyStore keyStore) {
+        if (entry.getKid() == null || entry.getKid().isBlank()) {
+            throw new IllegalStateException("jwt.keys.entries[].kid is required");
+        }
+
+        PrivateKey privateKey;
+        PublicKey publicKey;
+        try {
+            if (entry.getAlias() != null) {
+                if (keyStore == null) {
+                    throw new IllegalStateException("Key " + entry.getKid() + " uses an alias but no keystore is configured");
+                }
+                Certificate certificate = keyStore.getCertificate(entry.getAlias());
+                if (certificate == null) {
+                    throw new IllegalStateException("Alias " + entry.getAlias() + " not found in keystore");
+                }
+                publicKey = certificate.getPublicKey();
+                privateKey = (PrivateKey) keyStore.getKey(entry.getAlias(), keyStorePassword());
+            } else {
+                if (entry.getPublicKey() == null) {
+                    throw new IllegalStateException("Key " + entry.getKid() + " needs public-key or alias");
+                }
+                publicKey = (PublicKey) readPem(entry.getPublicKey(), false);
+                privateKey = entry.getPrivateKey() != null ? (PrivateKey) readPem(entry.getPrivateKey(), true) : null;
+            }
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Unable to load JWT key " + entry.getKid() + ": " + e.getMessage(), e);
+        }
+
+        Instant activeFrom = entry.getActiveFrom() != null ? entry.getActiveFrom() : Instant.EPOCH;
+        return new JwtKey(entry.getKid(), algorithmFor(publicKey), privateKey, publicKey,
+                activeFrom, entry.getVerifyUntil());
+    }
+
+    private KeyStore loadKeyStore() {
+        JwtKeyProperties.Keystore config = properties.getKeystore();
+        if (config.getLocation() == null || config.getLocation().isBlank()) {
+            return null;
+        }
+
+        try (InputStream in = resourceLoader.getResource(config.getLocation()).getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance(config.getType());
+            keyStore.load(in, keyStorePassword());
+            return keyStore;
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Unable to load JWT keystore: " + e.getMessage(), e);
+        }
+    }
+
+    private char[] keyStorePassword() {
+        String password = properties.getKeystore().getPassword();
+        return password != null ? password.toCharArray() : new char[0];
+    }
+
+    private Key readPem(String location, boolean isPrivate) throws IOException, GeneralSecurityException {
+        Resource resource = resourceLoader.getResource(location);
+        String pem;
+        try (InputStream in = resource.getInputStream()) {
+            pem = new String(in.readAllBytes(), StandardCharsets.US_ASCII);
+        }
+
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        byte[] der = Base64.getDecoder().decode(base64);
+
+        InvalidKeySpecException last = null;
+        for (String keyAlgorithm : List.of("EC", "Ed25519")) {
+            try {
+                KeyFactory factory = KeyFactory.getInstance(keyAlgorithm);
+                return isPrivate
+                        ? factory.generatePrivate(new PKCS8EncodedKeySpec(der))
+                        : factory.generatePublic(new X509EncodedKeySpec(der));
+            } catch (InvalidKeySpecException e) {
+                last = e;
+            }
+        }
+        throw new InvalidKeySpecException("Only EC P-256 and Ed25519 keys are supported: " + location, last);
+    }
+
+    private static SignatureAlgorithm algorithmFor(PublicKey publicKey) {
+        if (publicKey instanceof ECKey ecKey) {
+            if (ecKey.getParams().getCurve().getField().getFieldSize() != 256) {
+                throw new IllegalStateException("Only P-256 EC keys are supported for ES256");
+            }
+            return Jwts.SIG.ES256;
+        }
+        if ("Ed25519".equals(publicKey.getAlgorithm()) || "EdDSA".equals(publicKey.getAlgorithm())) {
+            return Jwts.SIG.EdDSA;
+        }
+        throw new IllegalStateException("Unsupported JWT key algorithm: " + publicKey.getAlgorithm());
+    }
+
+    private static JwtKey generateEphemeralKey(String algorithm) {
+        try {
+            KeyPairGenerator generator;
+            if ("EdDSA".equalsIgnoreCase(algorithm)) {
+                generator = KeyPairGenerator.getInstance("Ed25519");
+            } else {
+                generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+            }
+            KeyPair pair = generator.generateKeyPair();
+            String kid = "ephemeral-" + UUID.randomUUID();
+            return new JwtKey(kid, algorithmFor(pair.getPublic()), pair.getPrivate(), pair.getPublic(),
+                    Instant.EPOCH, null);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate JWT key: " + e.getMessage(), e);
+        }
+    }
+
+    private static Map<String, Object> toJwk(JwtKey key) {
+        PublicJwk<?> jwk = Jwks.builder()
+                .key(key.getPublicKey())
+                .id(key.getKid())
+                .algorithm(key.getAlgorithm().getId())
+                .publicKeyUse("sig")
+                .build();
+        return new LinkedHashMap<>(jwk);
+    }
+
+    private record State(List<JwtKey> keys, Map<String, JwtKey> byKid, Map<String, Object> jwks) {
+    }
+}
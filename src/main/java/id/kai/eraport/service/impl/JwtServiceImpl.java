@@ -1,62 +1,107 @@
 package id.kai.eraport.service.impl;
 
+import id.kai.eraport.dto.auth.JwtKey;
 import id.kai.eraport.dto.auth.JwtUserInfo;
-import id.kai.eraport.model.Users;
+import id.kai.eraport.service.interfaces.JwtKeyRing;
 import id.kai.eraport.service.interfaces.JwtService;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import jakarta.transaction.Transactional;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
+import java.security.PublicKey;
 import java.util.*;
 
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
-
 @Service
-@Transactional
 public class JwtServiceImpl implements JwtService {
 
-    private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private static final long EXPIRATION_TIME_ACCESS_TOKEN = 1000 * 60 * 60 * 24;
-    private static final long EXPIRATION_TIME_REFRESH_TOKEN = 1000L * 60 * 60 * 24 * 365;
+    static final long EXPIRATION_TIME_ACCESS_TOKEN = 1000 * 60 * 60 * 24;
+    static final long EXPIRATION_TIME_REFRESH_TOKEN = 1000L * 60 * 60 * 24 * 365;
+
+    private final JwtKeyRing keyRing;
+
+    // JwtParser is immutable and thread-safe, build it once instead of on every verification
+    private final JwtParser parser;
+
+    private final Timer signAccessTimer;
+    private final Timer signRefreshTimer;
+    private final Timer verifyTimer;
+
+    public JwtServiceImpl(JwtKeyRing keyRing, MeterRegistry meterRegistry) {
+        this.keyRing = keyRing;
+        this.parser = Jwts.parser()
+                .keyLocator(new KeyRingLocator(keyRing))
+                .build();
+        this.signAccessTimer = signTimer("access", meterRegistry);
+        this.signRefreshTimer = signTimer("refresh", meterRegistry);
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("JWT signature verification and claims parsing, failed verifications included")
+                .register(meterRegistry);
+    }
+
+    private static Timer signTimer(String type, MeterRegistry meterRegistry) {
+        return Timer.builder("jwt.sign")
+                .description("JWT signing")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    public String generateAccessToken(JwtUserInfo user, UUID familyId) {
+        return signAccessTimer.record(() -> signAccessToken(user, familyId));
+    }
 
-    public String generateAccessToken(Users user) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("id", user.getId());
-        claims.put("name", user.getName());
-        claims.put("email", user.getEmail());
-        claims.put("role", user.getRole());
+    private String signAccessToken(JwtUserInfo user, UUID familyId) {
+        long now = System.currentTimeMillis();
+        JwtKey signingKey = keyRing.getSigningKey();
 
         return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(user.getEmail())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_ACCESS_TOKEN))
-                .signWith(key)
+                .header().keyId(signingKey.getKid()).and()
+                .claim("id", user.getId())
+                .claim("name", user.getName())
+                .claim("email", user.getEmail())
+                .claim("role", user.getRole())
+                .claim("fid", familyId)
+                .subject(user.getEmail())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_TIME_ACCESS_TOKEN))
+                .signWith(signingKey.getPrivateKey(), signingKey.getAlgorithm())
                 .compact();
     }
 
-    public String generateRefreshToken(Users user) {
+    public String generateRefreshToken(JwtUserInfo user, UUID familyId, UUID tokenId) {
+        return signRefreshTimer.record(() -> signRefreshToken(user, familyId, tokenId));
+    }
+
+    private String signRefreshToken(JwtUserInfo user, UUID familyId, UUID tokenId) {
+        long now = System.currentTimeMillis();
+        JwtKey signingKey = keyRing.getSigningKey();
+
         return Jwts.builder()
-                .setSubject(user.getEmail())
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME_REFRESH_TOKEN)) // contoh 7 hari
-                .signWith(key)
+                .header().keyId(signingKey.getKid()).and()
+                .id(tokenId.toString())
+                .claim("fid", familyId)
+                .subject(user.getEmail())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + EXPIRATION_TIME_REFRESH_TOKEN))
+                .signWith(signingKey.getPrivateKey(), signingKey.getAlgorithm())
                 .compact();
     }
 
     public Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return verifyTimer.record(() -> parser.parseSignedClaims(token).getPayload());
     }
 
     public JwtUserInfo extractUserInfo(String token) {
-        Claims claims = extractAllClaims(token);
+        return toUserInfo(extractAllClaims(token));
+    }
+
+    public JwtUserInfo toUserInfo(Claims claims) {
         UUID id = Optional.ofNullable(claims.get("id", String.class))
                 .map(UUID::fromString)
                 .orElse(null);
@@ -72,16 +117,39 @@ public class JwtServiceImpl implements JwtService {
         );
     }
 
+    public UUID extractFamilyId(Claims claims) {
+        String familyId = claims.get("fid", String.class);
+        return familyId != null ? UUID.fromString(familyId) : null;
+    }
+
     public String extractEmail(String token) {
         return extractAllClaims(token).getSubject();
     }
 
     public boolean isTokenValid(String token) {
         try {
-            Claims claims = extractAllClaims(token);
-            return claims.getExpiration().after(new Date());
+            // The parser already rejects expired tokens with ExpiredJwtException
+            extractAllClaims(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
     }
+
+    private static class KeyRingLocator extends LocatorAdapter<Key> {
+        private final JwtKeyRing keyRing;
+
+        KeyRingLocator(JwtKeyRing keyRing) {
+            this.keyRing = keyRing;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            PublicKey key = keyRing.getVerificationKey(header.getKeyId());
+            if (key == null) {
+                throw new SecurityException("Unknown or retired signing key: " + header.getKeyId());
+            }
+            return key;
+        }
+    }
 }
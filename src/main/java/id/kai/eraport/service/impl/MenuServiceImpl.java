@@ -1,73 +1,331 @@
 package id.kai.eraport.service.impl;
 
+import id.kai.eraport.common.annotation.ReadOnlyTransactional;
+import id.kai.eraport.common.cache.ClusterCacheInvalidator;
+import id.kai.eraport.common.cache.ClusterCacheInvalidator.Topic;
+import id.kai.eraport.common.cache.PermissionMatrix;
+import id.kai.eraport.common.pagination.CountMode;
+import id.kai.eraport.common.pagination.Cursor;
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.common.pagination.PageCounter;
+import id.kai.eraport.common.pagination.SortField;
+import id.kai.eraport.common.pagination.SortFields;
 import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.batch.BatchResult;
+import id.kai.eraport.dto.menu.MenuDetail;
+import id.kai.eraport.dto.menu.MenuTreeNode;
+import id.kai.eraport.dto.menu.MenuTreeRow;
+import id.kai.eraport.dto.menu.MenuView;
+import id.kai.eraport.exception.BadRequestException;
+import id.kai.eraport.exception.ConflictException;
 import id.kai.eraport.exception.ResourceNotFoundException;
 import id.kai.eraport.model.Menus;
 import id.kai.eraport.model.Roles;
 import id.kai.eraport.repository.db.MenuRepository;
-import id.kai.eraport.service.interfaces.JwtService;
 import id.kai.eraport.service.interfaces.MenuService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @Transactional
 public class MenuServiceImpl implements MenuService {
+    private static final String COUNT_REGION = "menus";
+    private static final String COUNT_ESTIMATE_SQL = "select 1 from menus where is_deleted = false";
+
     @Autowired
     private MenuRepository menuRepository;
 
     @Autowired
-    private JwtService jwtService;
+    private PermissionMatrix permissionMatrix;
+
+    @Autowired
+    private ClusterCacheInvalidator cacheInvalidator;
+
+    @Autowired
+    private PageCounter pageCounter;
 
-    public Menus create(Menus menu, String token) {
-        JwtUserInfo userInfo = jwtService.extractUserInfo(token);
-        menu.setCreatedBy(userInfo.getId());
+    public Menus create(Menus menu, JwtUserInfo user) {
+        // Ids and versions are assigned by the database layer, never taken from the request
+        menu.setId(null);
+        menu.setVersion(null);
+        menu.setCreatedBy(user.getId());
         menu.setCreatedAt(new Timestamp(System.currentTimeMillis()));
         menu.setDeleted(false);
         menu.setActive(true);
 
-        return menuRepository.save(menu);
+        Menus saved = menuRepository.save(menu);
+        permissionMatrix.reloadAfterCommit();
+        cacheInvalidator.publish(Topic.MENUS);
+        pageCounter.invalidateAfterCommit(COUNT_REGION);
+        return saved;
     }
 
-    public Menus update(UUID id, Menus updateMenu, String token) {
-        JwtUserInfo userInfo = jwtService.extractUserInfo(token);
-        Menus menu = menuRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new RuntimeException("Role not found"));
+    /**
+     * Single UPDATE guarded by the version the client read
+     */
+    public void update(UUID id, Menus updateMenu, JwtUserInfo user) {
+        requireVersion(updateMenu.getVersion());
+        int updated = menuRepository.updateIfCurrent(id, updateMenu.getVersion(), updateMenu.getName(),
+                updateMenu.isActive(), new Timestamp(System.currentTimeMillis()), user.getId());
+        if (updated == 0) {
+            throw missingOrConflict(id);
+        }
 
-        menu.setName(updateMenu.getName());
-        menu.setActive(updateMenu.isActive());
-        menu.setLastModifiedAt(new Timestamp(System.currentTimeMillis()));
-        menu.setLastModifiedBy(userInfo.getId());
+        permissionMatrix.reloadAfterCommit();
 
-        return menuRepository.save(menu);
+        cacheInvalidator.publish(Topic.MENUS);
     }
 
-    public Page<Menus> getAll(int page, int size, String sortBy) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return menuRepository.findAllByIsDeletedFalse(pageable);
+    @ReadOnlyTransactional
+    public Slice<MenuView> getAll(int page, int size, String sortBy, CountMode count) {
+        SortField<MenuView> field = SortFields.resolve(SortFields.MENUS, sortBy);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(field.name()));
+        return pageCounter.page(COUNT_REGION, count, pageable, menuRepository::findViewsByIsDeletedFalse,
+                menuRepository::countByIsDeletedFalse, COUNT_ESTIMATE_SQL);
     }
 
-    public Menus getById(UUID id) {
-        return menuRepository.findByIdAndIsDeletedFalse(id)
+    @ReadOnlyTransactional
+    public CursorPage<MenuView> getAllAfter(String after, int size, String sortBy) {
+        SortField<MenuView> field = SortFields.resolve(SortFields.MENUS, sortBy);
+        Cursor cursor = after == null ? null : Cursor.decode(after, field);
+        return menuRepository.findActiveAfter(field, cursor, size);
+    }
+
+    @ReadOnlyTransactional
+    public MenuDetail getById(UUID id) {
+        return menuRepository.findDetailById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Menu not found"));
     }
 
-    public void delete(UUID id, String token) {
-        JwtUserInfo userInfo = jwtService.extractUserInfo(token);
-        Menus menus = menuRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
+    /**
+     * Load the menu hierarchy with one recursive query and link it in a single pass
+     * Rows arrive ordered by depth, so every parent is already indexed when its children are read
+     *
+     * @param rootId          Subtree root, or null for all top level menus
+     * @param maxDepth        Number of levels to return, the root being level 1
+     * @param includeInactive Whether inactive menus (and their subtrees) are returned
+     * @return Root nodes with nested children, siblings ordered by name
+     */
+    @ReadOnlyTransactional
+    public List<MenuTreeNode> getTree(UUID rootId, int maxDepth, boolean includeInactive) {
+        List<MenuTreeRow> rows = rootId == null
+                ? menuRepository.findTree(maxDepth, includeInactive)
+                : menuRepository.findSubtree(rootId, maxDepth, includeInactive);
+
+        if (rootId != null && rows.isEmpty()) {
+            throw new ResourceNotFoundException("Menu not found");
+        }
+
+        Map<UUID, MenuTreeNode> nodes = new HashMap<>(rows.size() * 2);
+        List<MenuTreeNode> roots = new ArrayList<>();
+        for (MenuTreeRow row : rows) {
+            // A corrupted parent cycle would repeat ids until maxDepth, keep the first occurrence only
+            if (nodes.containsKey(row.getId())) {
+                continue;
+            }
+
+            MenuTreeNode node = MenuTreeNode.from(row);
+            nodes.put(node.getId(), node);
+
+            MenuTreeNode parent = row.getDepth() == 1 ? null : nodes.get(row.getParentMenuId());
+            if (parent == null) {
+                roots.add(node);
+            } else {
+                parent.getChildren().add(node);
+            }
+        }
+        return roots;
+    }
+
+    public void delete(UUID id, Long version, JwtUserInfo user) {
+        requireVersion(version);
+        int deleted = menuRepository.softDeleteIfCurrent(id, version,
+                new Timestamp(System.currentTimeMillis()), user.getId());
+        if (deleted == 0) {
+            throw missingOrConflict(id);
+        }
+
+        permissionMatrix.reloadAfterCommit();
+
+        cacheInvalidator.publish(Topic.MENUS);
+        pageCounter.invalidateAfterCommit(COUNT_REGION);
+    }
+
+    /**
+     * Insert every non-null item in this transaction, Hibernate sends them as ordered JDBC insert batches
+     */
+    public BatchResult createAll(List<Menus> menus, JwtUserInfo user) {
+        BatchResult result = new BatchResult(menus.size());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Menus> accepted = new ArrayList<>(menus.size());
+        for (int i = 0; i < menus.size(); i++) {
+            Menus menu = menus.get(i);
+            if (menu == null) {
+                result.record(i, null, BatchResult.Status.INVALID, "Item must not be null");
+                continue;
+            }
+            // Ids and versions are assigned by the database layer, never taken from the request
+            menu.setId(null);
+            menu.setVersion(null);
+            menu.setCreatedBy(user.getId());
+            menu.setCreatedAt(now);
+            menu.setDeleted(false);
+            menu.setActive(true);
+            accepted.add(menu);
+        }
+
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        menuRepository.saveAll(accepted);
+        for (int i = 0; i < menus.size(); i++) {
+            Menus menu = menus.get(i);
+            if (menu != null) {
+                result.record(i, menu.getId(), BatchResult.Status.CREATED, null);
+            }
+        }
+        permissionMatrix.reloadAfterCommit();
+        cacheInvalidator.publish(Topic.MENUS);
+        pageCounter.invalidateAfterCommit(COUNT_REGION);
+        return result;
+    }
+
+    /**
+     * Guarded updates in one JDBC batch, items that touched no row are classified with one extra query
+     */
+    public BatchResult updateAll(List<Menus> menus, JwtUserInfo user) {
+        BatchResult result = new BatchResult(menus.size());
+        Set<UUID> seen = new HashSet<>();
+        List<Menus> accepted = new ArrayList<>(menus.size());
+        List<Integer> positions = new ArrayList<>(menus.size());
+        for (int i = 0; i < menus.size(); i++) {
+            Menus menu = menus.get(i);
+            if (menu == null || menu.getId() == null) {
+                result.record(i, null, BatchResult.Status.INVALID, "Id is required");
+            } else if (menu.getVersion() == null) {
+                result.record(i, menu.getId(), BatchResult.Status.INVALID, "Version is required");
+            } else if (!seen.add(menu.getId())) {
+                result.record(i, menu.getId(), BatchResult.Status.INVALID, "Duplicate id in batch");
+            } else {
+                accepted.add(menu);
+                positions.add(i);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        int[] counts = menuRepository.updateAllIfCurrent(accepted, new Timestamp(System.currentTimeMillis()), user.getId());
+        List<UUID> missed = new ArrayList<>();
+        for (int k = 0; k < counts.length; k++) {
+            // Anything but 0 is a hit, drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            if (counts[k] != 0) {
+                result.record(positions.get(k), accepted.get(k).getId(), BatchResult.Status.UPDATED, null);
+            } else {
+                missed.add(accepted.get(k).getId());
+            }
+        }
+
+        if (!missed.isEmpty()) {
+            Set<UUID> active = new HashSet<>(menuRepository.findActiveIds(missed));
+            for (int k = 0; k < counts.length; k++) {
+                if (counts[k] != 0) {
+                    continue;
+                }
+                UUID id = accepted.get(k).getId();
+                if (active.contains(id)) {
+                    result.record(positions.get(k), id, BatchResult.Status.CONFLICT,
+                            "Menu was modified by another user, reload and try again");
+                } else {
+                    result.record(positions.get(k), id, BatchResult.Status.NOT_FOUND, "Menu not found");
+                }
+            }
+        }
+
+        if (result.getSucceeded() > 0) {
+            permissionMatrix.reloadAfterCommit();
+            cacheInvalidator.publish(Topic.MENUS);
+        }
+        return result;
+    }
+
+    /**
+     * Soft-delete every item still at the version it carries with a single UPDATE ... FROM unnest(?, ?),
+     * items that touched no row are classified with one extra query
+     */
+    public BatchResult deleteAll(List<BatchDeleteItem> items, JwtUserInfo user) {
+        BatchResult result = new BatchResult(items.size());
+        Set<UUID> seen = new HashSet<>();
+        List<BatchDeleteItem> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchDeleteItem item = items.get(i);
+            if (item == null || item.id() == null) {
+                result.record(i, null, BatchResult.Status.INVALID, "Id is required");
+            } else if (item.version() == null) {
+                result.record(i, item.id(), BatchResult.Status.INVALID, "Version is required");
+            } else if (!seen.add(item.id())) {
+                result.record(i, item.id(), BatchResult.Status.INVALID, "Duplicate id in batch");
+            } else {
+                accepted.add(item);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        Set<UUID> deleted = menuRepository.softDeleteAll(accepted, new Timestamp(System.currentTimeMillis()), user.getId());
+        Set<UUID> active = Set.of();
+        if (deleted.size() < accepted.size()) {
+            List<UUID> missed = accepted.stream().map(BatchDeleteItem::id).filter(id -> !deleted.contains(id)).toList();
+            active = new HashSet<>(menuRepository.findActiveIds(missed));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (result.getItems().get(i) != null) {
+                continue;
+            }
+            UUID id = items.get(i).id();
+            if (deleted.contains(id)) {
+                result.record(i, id, BatchResult.Status.DELETED, null);
+            } else if (active.contains(id)) {
+                result.record(i, id, BatchResult.Status.CONFLICT,
+                        "Menu was modified by another user, reload and try again");
+            } else {
+                result.record(i, id, BatchResult.Status.NOT_FOUND, "Menu not found");
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            permissionMatrix.reloadAfterCommit();
+            cacheInvalidator.publish(Topic.MENUS);
+            pageCounter.invalidateAfterCommit(COUNT_REGION);
+        }
+        return result;
+    }
+
+    // Without a version the guarded write could not detect a lost update
+    private static void requireVersion(Long version) {
+        if (version == null) {
+            throw new BadRequestException("Version is required, send the version you read");
+        }
+    }
 
-        menus.setDeleted(true);
-        menus.setLastModifiedAt(new Timestamp(System.currentTimeMillis()));
-        menus.setLastModifiedBy(userInfo.getId());
-        menuRepository.save(menus);
+    // Only reached when the guarded statement touched no row, the happy path stays one round trip
+    private RuntimeException missingOrConflict(UUID id) {
+        if (menuRepository.existsByIdAndIsDeletedFalse(id)) {
+            return new ConflictException("Menu was modified by another user, reload and try again");
+        }
+        return new ResourceNotFoundException("Menu not found");
     }
 }
@@ -0,0 +1,89 @@
+package id.kai.eraport.service.impl;
+
+import id.kai.eraport.common.annotation.ReadOnlyTransactional;
+import id.kai.eraport.common.cache.ClusterCacheInvalidator;
+import id.kai.eraport.common.cache.ClusterCacheInvalidator.Topic;
+import id.kai.eraport.common.cache.PermissionMatrix;
+import id.kai.eraport.common.cache.RoleCatalog;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.exception.BadRequestException;
+import id.kai.eraport.exception.ResourceNotFoundException;
+import id.kai.eraport.model.Menus;
+import id.kai.eraport.model.RoleMenus;
+import id.kai.eraport.repository.db.MenuRepository;
+import id.kai.eraport.repository.db.RoleMenuRepository;
+import id.kai.eraport.service.interfaces.RolePermissionService;
+import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+@Transactional
+public class RolePermissionServiceImpl implements RolePermissionService {
+    @Autowired
+    private RoleMenuRepository roleMenuRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private PermissionMatrix permissionMatrix;
+
+    @Autowired
+    private ClusterCacheInvalidator cacheInvalidator;
+
+    @ReadOnlyTransactional
+    public List<UUID> getMenuIds(UUID roleId) {
+        if (!roleCatalog.exists(roleId)) {
+            throw new ResourceNotFoundException("Role not found");
+        }
+        return roleMenuRepository.findMenuIdsByRoleId(roleId);
+    }
+
+    /**
+     * Replace every menu granted to a role, the permission matrix is recompiled after commit
+     */
+    public List<UUID> replaceMenus(UUID roleId, List<UUID> menuIds, JwtUserInfo user) {
+        if (!roleCatalog.exists(roleId)) {
+            throw new ResourceNotFoundException("Role not found");
+        }
+
+        Set<UUID> requested = new LinkedHashSet<>(menuIds);
+        long found = menuRepository.findAllById(requested).stream()
+                .filter(menu -> !menu.isDeleted())
+                .map(Menus::getId)
+                .count();
+        if (found != requested.size()) {
+            throw new BadRequestException("One or more menus not found");
+        }
+
+        roleMenuRepository.deleteByRoleId(roleId);
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<RoleMenus> grants = new ArrayList<>(requested.size());
+        for (UUID menuId : requested) {
+            RoleMenus grant = new RoleMenus();
+            grant.setRoleId(roleId);
+            grant.setMenuId(menuId);
+            grant.setCreatedAt(now);
+            grant.setCreatedBy(user.getId());
+            grants.add(grant);
+        }
+        roleMenuRepository.saveAll(grants);
+
+        permissionMatrix.reloadAfterCommit();
+
+        cacheInvalidator.publish(Topic.GRANTS);
+        return new ArrayList<>(requested);
+    }
+}
@@ -1,70 +1,302 @@
 package id.kai.eraport.service.impl;
 
+import id.kai.eraport.common.cache.ClusterCacheInvalidator;
+import id.kai.eraport.common.cache.ClusterCacheInvalidator.Topic;
+import id.kai.eraport.common.cache.PermissionMatrix;
+import id.kai.eraport.common.cache.RoleCatalog;
+import id.kai.eraport.common.pagination.CursorPage;
 import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.batch.BatchResult;
+import id.kai.eraport.dto.role.RoleDetail;
+import id.kai.eraport.dto.role.RoleView;
+import id.kai.eraport.exception.BadRequestException;
+import id.kai.eraport.exception.ConflictException;
 import id.kai.eraport.exception.ResourceNotFoundException;
 import id.kai.eraport.model.Roles;
 import id.kai.eraport.repository.db.RoleRepository;
-import id.kai.eraport.service.interfaces.JwtService;
 import id.kai.eraport.service.interfaces.RoleService;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class RoleServiceImpl implements RoleService {
+    private static final String RESERVED_NAME = "Role name is reserved";
+
     @Autowired
     private RoleRepository roleRepository;
 
     @Autowired
-    private JwtService jwtService;
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private PermissionMatrix permissionMatrix;
 
-    public Roles create(Roles role, String token) {
-        JwtUserInfo userInfo = jwtService.extractUserInfo(token);
+    @Autowired
+    private ClusterCacheInvalidator cacheInvalidator;
+
+    public Roles create(Roles role, JwtUserInfo user) {
+        // Ids and versions are assigned by the database layer, never taken from the request
+        role.setId(null);
+        role.setVersion(null);
+        if (isReservedName(null, role.getRoleName())) {
+            throw new BadRequestException(RESERVED_NAME);
+        }
         role.setCreatedAt(new Timestamp(System.currentTimeMillis()));
-        role.setCreatedBy(userInfo.getId());
+        role.setCreatedBy(user.getId());
         role.setDeleted(false);
-        return roleRepository.save(role);
+        Roles saved = roleRepository.save(role);
+        roleCatalog.putAfterCommit(saved);
+        permissionMatrix.reloadAfterCommit();
+        cacheInvalidator.publish(Topic.ROLES);
+        return saved;
     }
 
-    public Roles update(UUID id, Roles updatedRole, String token) {
-        JwtUserInfo userInfo = jwtService.extractUserInfo(token);
-        Roles role = roleRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new RuntimeException("Role not found"));
+    /**
+     * Single UPDATE guarded by the version the client read
+     */
+    public void update(UUID id, Roles updatedRole, JwtUserInfo user) {
+        requireVersion(updatedRole.getVersion());
+        if (isReservedName(id, updatedRole.getRoleName())) {
+            throw new BadRequestException(RESERVED_NAME);
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = roleRepository.updateIfCurrent(id, updatedRole.getVersion(), updatedRole.getRoleName(),
+                now, user.getId());
+        if (updated == 0) {
+            throw missingOrConflict(id);
+        }
 
-        role.setRoleName(updatedRole.getRoleName());
-        role.setLastModifiedAt(new Timestamp(System.currentTimeMillis()));
-        role.setLastModifiedBy(userInfo.getId());
+        // The catalog already holds the unchanged columns, no need to read the row back
+        RoleDetail current = roleCatalog.findById(id).orElse(null);
+        if (current != null && updatedRole.getVersion() == current.version()) {
+            roleCatalog.putAfterCommit(new RoleDetail(id, updatedRole.getRoleName(), current.createdAt(),
+                    current.createdBy(), now, user.getId(), current.version() + 1));
+        } else {
+            roleCatalog.reloadAfterCommit();
+        }
+        permissionMatrix.reloadAfterCommit();
+        cacheInvalidator.publish(Topic.ROLES);
+    }
 
-        return roleRepository.save(role);
+    // Reads are served from the in-memory catalog, SUPPORTS keeps them from opening a transaction
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public Page<RoleView> getAll(int page, int size, String sortBy) {
+        return roleCatalog.findAll(page, size, sortBy).map(RoleDetail::toView);
     }
 
-    public Page<Roles> getAll(int page, int size, String sortBy) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy));
-        return roleRepository.findAllByIsDeletedFalse(pageable);
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public CursorPage<RoleView> getAllAfter(String after, int size, String sortBy) {
+        return roleCatalog.findAfter(sortBy, after, size).map(RoleDetail::toView);
     }
 
-    public Roles getById(UUID id) {
-        return roleRepository.findByIdAndIsDeletedFalse(id)
+    @Transactional(Transactional.TxType.SUPPORTS)
+    public RoleDetail getById(UUID id) {
+        return roleCatalog.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
     }
 
-    public void delete(UUID id, String token) {
-        JwtUserInfo userInfo = jwtService.extractUserInfo(token);
-        Roles role = roleRepository.findByIdAndIsDeletedFalse(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
+    public void delete(UUID id, Long version, JwtUserInfo user) {
+        requireVersion(version);
+        int deleted = roleRepository.softDeleteIfCurrent(id, version,
+                new Timestamp(System.currentTimeMillis()), user.getId());
+        if (deleted == 0) {
+            throw missingOrConflict(id);
+        }
+
+        roleCatalog.removeAfterCommit(id);
+        permissionMatrix.reloadAfterCommit();
+        cacheInvalidator.publish(Topic.ROLES);
+    }
+
+    /**
+     * Insert every non-null item in this transaction, Hibernate sends them as ordered JDBC insert batches
+     */
+    public BatchResult createAll(List<Roles> roles, JwtUserInfo user) {
+        BatchResult result = new BatchResult(roles.size());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Roles> accepted = new ArrayList<>(roles.size());
+        for (int i = 0; i < roles.size(); i++) {
+            Roles role = roles.get(i);
+            if (role == null) {
+                result.record(i, null, BatchResult.Status.INVALID, "Item must not be null");
+                continue;
+            }
+            if (isReservedName(null, role.getRoleName())) {
+                result.record(i, null, BatchResult.Status.INVALID, RESERVED_NAME);
+                continue;
+            }
+            // Ids and versions are assigned by the database layer, never taken from the request
+            role.setId(null);
+            role.setVersion(null);
+            role.setCreatedBy(user.getId());
+            role.setCreatedAt(now);
+            role.setDeleted(false);
+            accepted.add(role);
+        }
+
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        roleRepository.saveAll(accepted);
+        for (int i = 0; i < roles.size(); i++) {
+            Roles role = roles.get(i);
+            if (role != null && result.getItems().get(i) == null) {
+                result.record(i, role.getId(), BatchResult.Status.CREATED, null);
+                roleCatalog.putAfterCommit(role);
+            }
+        }
+        permissionMatrix.reloadAfterCommit();
+        cacheInvalidator.publish(Topic.ROLES);
+        return result;
+    }
+
+    /**
+     * Guarded updates in one JDBC batch, items that touched no row are classified with one extra query
+     */
+    public BatchResult updateAll(List<Roles> roles, JwtUserInfo user) {
+        BatchResult result = new BatchResult(roles.size());
+        Set<UUID> seen = new HashSet<>();
+        List<Roles> accepted = new ArrayList<>(roles.size());
+        List<Integer> positions = new ArrayList<>(roles.size());
+        for (int i = 0; i < roles.size(); i++) {
+            Roles role = roles.get(i);
+            if (role == null || role.getId() == null) {
+                result.record(i, null, BatchResult.Status.INVALID, "Id is required");
+            } else if (role.getVersion() == null) {
+                result.record(i, role.getId(), BatchResult.Status.INVALID, "Version is required");
+            } else if (!seen.add(role.getId())) {
+                result.record(i, role.getId(), BatchResult.Status.INVALID, "Duplicate id in batch");
+            } else if (isReservedName(role.getId(), role.getRoleName())) {
+                result.record(i, role.getId(), BatchResult.Status.INVALID, RESERVED_NAME);
+            } else {
+                accepted.add(role);
+                positions.add(i);
+            }
+        }
 
-        role.setDeleted(true);
-        role.setLastModifiedAt(new Timestamp(System.currentTimeMillis()));
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        int[] counts = roleRepository.updateAllIfCurrent(accepted, new Timestamp(System.currentTimeMillis()), user.getId());
+        List<UUID> missed = new ArrayList<>();
+        for (int k = 0; k < counts.length; k++) {
+            // Anything but 0 is a hit, drivers may report SUCCESS_NO_INFO (-2) for batched statements
+            if (counts[k] != 0) {
+                result.record(positions.get(k), accepted.get(k).getId(), BatchResult.Status.UPDATED, null);
+            } else {
+                missed.add(accepted.get(k).getId());
+            }
+        }
+
+        if (!missed.isEmpty()) {
+            Set<UUID> active = new HashSet<>(roleRepository.findActiveIds(missed));
+            for (int k = 0; k < counts.length; k++) {
+                if (counts[k] != 0) {
+                    continue;
+                }
+                UUID id = accepted.get(k).getId();
+                if (active.contains(id)) {
+                    result.record(positions.get(k), id, BatchResult.Status.CONFLICT,
+                            "Role was modified by another user, reload and try again");
+                } else {
+                    result.record(positions.get(k), id, BatchResult.Status.NOT_FOUND, "Role not found");
+                }
+            }
+        }
+
+        if (result.getSucceeded() > 0) {
+            roleCatalog.reloadAfterCommit();
+            permissionMatrix.reloadAfterCommit();
+            cacheInvalidator.publish(Topic.ROLES);
+        }
+        return result;
+    }
+
+    /**
+     * Soft-delete every item still at the version it carries with a single UPDATE ... FROM unnest(?, ?),
+     * items that touched no row are classified with one extra query
+     */
+    public BatchResult deleteAll(List<BatchDeleteItem> items, JwtUserInfo user) {
+        BatchResult result = new BatchResult(items.size());
+        Set<UUID> seen = new HashSet<>();
+        List<BatchDeleteItem> accepted = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            BatchDeleteItem item = items.get(i);
+            if (item == null || item.id() == null) {
+                result.record(i, null, BatchResult.Status.INVALID, "Id is required");
+            } else if (item.version() == null) {
+                result.record(i, item.id(), BatchResult.Status.INVALID, "Version is required");
+            } else if (!seen.add(item.id())) {
+                result.record(i, item.id(), BatchResult.Status.INVALID, "Duplicate id in batch");
+            } else {
+                accepted.add(item);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return result;
+        }
+
+        Set<UUID> deleted = roleRepository.softDeleteAll(accepted, new Timestamp(System.currentTimeMillis()), user.getId());
+        Set<UUID> active = Set.of();
+        if (deleted.size() < accepted.size()) {
+            List<UUID> missed = accepted.stream().map(BatchDeleteItem::id).filter(id -> !deleted.contains(id)).toList();
+            active = new HashSet<>(roleRepository.findActiveIds(missed));
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (result.getItems().get(i) != null) {
+                continue;
+            }
+            UUID id = items.get(i).id();
+            if (deleted.contains(id)) {
+                result.record(i, id, BatchResult.Status.DELETED, null);
+                roleCatalog.removeAfterCommit(id);
+            } else if (active.contains(id)) {
+                result.record(i, id, BatchResult.Status.CONFLICT,
+                        "Role was modified by another user, reload and try again");
+            } else {
+                result.record(i, id, BatchResult.Status.NOT_FOUND, "Role not found");
+            }
+        }
+
+        if (!deleted.isEmpty()) {
+            permissionMatrix.reloadAfterCommit();
+            cacheInvalidator.publish(Topic.ROLES);
+        }
+        return result;
+    }
+
+    // Admin roles are flagged in the database, a role copying an admin role's name would pass for one
+    private boolean isReservedName(UUID id, String roleName) {
+        UUID admin = permissionMatrix.findAdminRoleByName(roleName);
+        return admin != null && !admin.equals(id);
+    }
+
+    // Without a version the guarded write could not detect a lost update
+    private static void requireVersion(Long version) {
+        if (version == null) {
+            throw new BadRequestException("Version is required, send the version you read");
+        }
+    }
 
-        roleRepository.save(role);
+    // Only reached when the guarded statement touched no row, the happy path stays one round trip
+    private RuntimeException missingOrConflict(UUID id) {
+        if (roleRepository.existsByIdAndIsDeletedFalse(id)) {
+            return new ConflictException("Role was modified by another user, reload and try again");
+        }
+        return new ResourceNotFoundException("Role not found");
     }
 }
@@ -0,0 +1,91 @@
+package id.kai.eraport.service.impl;
+
+import id.kai.eraport.common.cache.RevocationIndex;
+import id.kai.eraport.repository.db.RefreshTokenRepository;
+import id.kai.eraport.service.interfaces.TokenRevocationService;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Revokes refresh token families in Postgres and mirrors them into a RevocationIndex
+ * Revoked families are kept in memory for one access token lifetime, after that every access token
+ * of the family has expired and the refresh tokens are rejected by the database anyway.
+ * Other nodes pick up revocations by polling, so they lag by at most sync-interval-ms
+ */
+@Service
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationServiceImpl.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final RevocationIndex revocationIndex;
+    private final long retentionMillis;
+    private final long syncIntervalMillis;
+
+    private volatile long lastSyncAt;
+
+    public TokenRevocationServiceImpl(RefreshTokenRepository refreshTokenRepository,
+                                      @Value("${jwt.revocation.expected-entries:100000}") int expectedEntries,
+                                      @Value("${jwt.revocation.sync-interval-ms:30000}") long syncIntervalMillis) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.revocationIndex = new RevocationIndex(expectedEntries);
+        this.retentionMillis = JwtServiceImpl.EXPIRATION_TIME_ACCESS_TOKEN;
+        this.syncIntervalMillis = syncIntervalMillis;
+    }
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        load(now - retentionMillis);
+        lastSyncAt = now;
+    }
+
+    public boolean isRevoked(UUID familyId) {
+        return revocationIndex.isRevoked(familyId);
+    }
+
+    // Own transaction so the revocation survives the rollback of a failed refresh
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public void revokeFamily(UUID familyId) {
+        long now = System.currentTimeMillis();
+        refreshTokenRepository.revokeFamily(familyId, new Timestamp(now));
+        revocationIndex.revoke(familyId, now + retentionMillis);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:30000}",
+            initialDelayString = "${jwt.revocation.sync-interval-ms:30000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        try {
+            // Overlap the previous window so commits that landed during the last poll are not missed
+            load(lastSyncAt - syncIntervalMillis);
+            lastSyncAt = now;
+            revocationIndex.compact();
+        } catch (Exception e) {
+            log.error("Revocation index sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void load(long since) {
+        // The retention is counted from load time, which only ever keeps an entry slightly longer
+        long expiresAt = System.currentTimeMillis() + retentionMillis;
+        List<UUID> families = refreshTokenRepository.findFamiliesRevokedSince(new Timestamp(since));
+        for (UUID familyId : families) {
+            revocationIndex.revoke(familyId, expiresAt);
+        }
+    }
+
+    // ==================== STATISTICS ====================
+
+    public int getRevokedFamilies() {
+        return revocationIndex.size();
+    }
+}
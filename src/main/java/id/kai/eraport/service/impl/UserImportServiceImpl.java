@@ -0,0 +1,320 @@
+package id.kai.eraport.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.kai.eraport.common.cache.RoleCatalog;
+import id.kai.eraport.common.util.UuidV7;
+import id.kai.eraport.dto.auth.RegisterUserRequest;
+import id.kai.eraport.dto.user.UserImportResult;
+import id.kai.eraport.exception.BadRequestException;
+import id.kai.eraport.repository.db.UserRepository;
+import id.kai.eraport.service.interfaces.PasswordHasher;
+import id.kai.eraport.service.interfaces.UserImportService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Streams users from CSV or NDJSON and inserts them chunk by chunk
+ * Each chunk is validated, deduplicated within itself and against the database with one query,
+ * hashed in parallel on the import pool and written with one multi-row insert. Only one chunk is
+ * held in memory: duplicates across chunks are caught by the unique index on lower(email) and
+ * reported from the rows the insert actually returned.
+ * Not @Transactional on purpose: a chunk commits on its own so a large file neither holds
+ * one huge transaction nor loses the rows already imported when a later chunk fails
+ */
+@Service
+public class UserImportServiceImpl implements UserImportService {
+    private static final Logger log = LoggerFactory.getLogger(UserImportServiceImpl.class);
+
+    private static final String INSERT_SQL = "insert into users (id, name, email, password, role, is_deleted, created_at) "
+            + "select id, name, email, password, role, false, ? "
+            + "from unnest(?::uuid[], ?::varchar[], ?::varchar[], ?::varchar[], ?::uuid[]) "
+            + "as t(id, name, email, password, role) "
+            + "on conflict do nothing returning lower(email)";
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleCatalog roleCatalog;
+
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${user-import.chunk-size:500}")
+    private int chunkSize;
+
+    public UserImportResult importCsv(InputStream input) {
+        return importRows(input, new CsvRowParser());
+    }
+
+    public UserImportResult importNdjson(InputStream input) {
+        return importRows(input, line -> {
+            try {
+                return objectMapper.readValue(line, RegisterUserRequest.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+            }
+        });
+    }
+
+    private UserImportResult importRows(InputStream input, RowParser parser) {
+        ImportContext context = new ImportContext();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || parser.skip(lineNumber, line)) {
+                    continue;
+                }
+
+                context.result.setTotal(context.result.getTotal() + 1);
+                try {
+                    chunk.add(new Row(lineNumber, parser.parse(line)));
+                } catch (IllegalArgumentException e) {
+                    context.fail(lineNumber, null, e.getMessage());
+                }
+
+                if (chunk.size() >= chunkSize) {
+                    processChunk(chunk, context);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read import stream", e);
+        }
+
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, context);
+        }
+
+        UserImportResult result = context.result;
+        log.info("User import finished: {} rows, {} imported, {} failed",
+                result.getTotal(), result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void processChunk(List<Row> chunk, ImportContext context) {
+        List<Row> candidates = new ArrayList<>(chunk.size());
+        Set<String> chunkEmails = new HashSet<>();
+        for (Row row : chunk) {
+            String error = validate(row.request(), context);
+            if (error != null) {
+                context.fail(row.line(), row.request().getEmail(), error);
+            } else if (!chunkEmails.add(normalizeEmail(row.request().getEmail()))) {
+                context.fail(row.line(), row.request().getEmail(), "Duplicate email in file");
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> emails = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            emails.add(normalizeEmail(row.request().getEmail()));
+        }
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<Row> accepted = new ArrayList<>(candidates.size());
+        for (Row row : candidates) {
+            if (existing.contains(normalizeEmail(row.request().getEmail()))) {
+                context.fail(row.line(), row.request().getEmail(), "Email already registered!");
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        List<String> rawPasswords = new ArrayList<>(accepted.size());
+        for (Row row : accepted) {
+            rawPasswords.add(row.request().getPassword());
+        }
+        List<String> hashes = passwordHasher.encodeAll(rawPasswords);
+
+        Set<String> inserted = insert(accepted, hashes);
+        for (Row row : accepted) {
+            // Not returned: taken by an earlier chunk or by a concurrent registration or import
+            if (inserted.contains(normalizeEmail(row.request().getEmail()))) {
+                context.result.setImported(context.result.getImported() + 1);
+            } else {
+                context.fail(row.line(), row.request().getEmail(), "Email already registered!");
+            }
+        }
+    }
+
+    /**
+     * @return Lower-cased emails of the rows actually inserted
+     */
+    private Set<String> insert(List<Row> rows, List<String> hashes) {
+        int size = rows.size();
+        UUID[] ids = new UUID[size];
+        String[] names = new String[size];
+        String[] emails = new String[size];
+        UUID[] roles = new UUID[size];
+        for (int i = 0; i < size; i++) {
+            RegisterUserRequest request = rows.get(i).request();
+            ids[i] = UuidV7.next();
+            names[i] = request.getName();
+            emails[i] = request.getEmail();
+            roles[i] = request.getRole();
+        }
+
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return new HashSet<>(jdbcTemplate.query(con -> {
+            var ps = con.prepareStatement(INSERT_SQL);
+            ps.setTimestamp(1, now);
+            ps.setArray(2, con.createArrayOf("uuid", ids));
+            ps.setArray(3, con.createArrayOf("varchar", names));
+            ps.setArray(4, con.createArrayOf("varchar", emails));
+            ps.setArray(5, con.createArrayOf("varchar", hashes.toArray()));
+            ps.setArray(6, con.createArrayOf("uuid", roles));
+            return ps;
+        }, (rs, rowNum) -> rs.getString(1)));
+    }
+
+    // Emails are unique case-insensitively, see the lower(email) index on users
+    private static String normalizeEmail(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private String validate(RegisterUserRequest request, ImportContext context) {
+        Set<ConstraintViolation<RegisterUserRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+
+        if (request.getRole() == null) {
+            return "Role is required";
+        }
+        return roleCatalog.exists(request.getRole()) ? null : "Role not found!";
+    }
+
+    private interface RowParser {
+        RegisterUserRequest parse(String line);
+
+        default boolean skip(long lineNumber, String line) {
+            return false;
+        }
+    }
+
+    /**
+     * Columns: name,email,password,role with a mandatory header row
+     * Fields may be double-quoted, with "" as an escaped quote
+     */
+    private static class CsvRowParser implements RowParser {
+        private static final List<String> HEADER = List.of("name", "email", "password", "role");
+
+        @Override
+        public boolean skip(long lineNumber, String line) {
+            if (lineNumber != 1) {
+                return false;
+            }
+            List<String> header = split(line.startsWith("\uFEFF") ? line.substring(1) : line);
+            header.replaceAll(column -> column.trim().toLowerCase(Locale.ROOT));
+            if (!header.equals(HEADER)) {
+                throw new BadRequestException("CSV header must be: " + String.join(",", HEADER));
+            }
+            return true;
+        }
+
+        @Override
+        public RegisterUserRequest parse(String line) {
+            List<String> fields = split(line);
+            if (fields.size() != HEADER.size()) {
+                throw new IllegalArgumentException("Expected " + HEADER.size() + " columns but got " + fields.size());
+            }
+
+            RegisterUserRequest request = new RegisterUserRequest();
+            request.setName(fields.get(0).trim());
+            request.setEmail(fields.get(1).trim());
+            request.setPassword(fields.get(2));
+            try {
+                request.setRole(UUID.fromString(fields.get(3).trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid role id");
+            }
+            return request;
+        }
+
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>(4);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    private record Row(long line, RegisterUserRequest request) {
+    }
+
+    private static class ImportContext {
+        private final UserImportResult result = new UserImportResult();
+
+        void fail(long line, String email, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new UserImportResult.RowError(line, email, message));
+            } else {
+                result.setErrorsTruncated(true);
+            }
+        }
+    }
+}
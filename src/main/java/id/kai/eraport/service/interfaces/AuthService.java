@@ -8,4 +8,5 @@ public interface AuthService {
     LoginResponse login(String email, String password);
     Users register(RegisterUserRequest request);
     LoginResponse refreshToken(String refreshToken);
+    void logout(String refreshToken);
 }
@@ -0,0 +1,13 @@
+package id.kai.eraport.service.interfaces;
+
+import id.kai.eraport.dto.auth.JwtKey;
+
+import java.security.PublicKey;
+import java.util.Map;
+
+public interface JwtKeyRing {
+    JwtKey getSigningKey();
+    PublicKey getVerificationKey(String kid);
+    Map<String, Object> getJwks();
+    void reload();
+}
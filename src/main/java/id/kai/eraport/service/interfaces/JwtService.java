@@ -1,14 +1,17 @@
 package id.kai.eraport.service.interfaces;
 
 import id.kai.eraport.dto.auth.JwtUserInfo;
-import id.kai.eraport.model.Users;
 import io.jsonwebtoken.Claims;
 
+import java.util.UUID;
+
 public interface JwtService {
-    String generateAccessToken(Users users);
-    String generateRefreshToken(Users users);
+    String generateAccessToken(JwtUserInfo user, UUID familyId);
+    String generateRefreshToken(JwtUserInfo user, UUID familyId, UUID tokenId);
     Claims extractAllClaims(String token);
     JwtUserInfo extractUserInfo(String token);
+    JwtUserInfo toUserInfo(Claims claims);
+    UUID extractFamilyId(Claims claims);
     String extractEmail(String token);
     boolean isTokenValid(String token);
 }
@@ -1,14 +1,28 @@
 package id.kai.eraport.service.interfaces;
 
+import id.kai.eraport.common.pagination.CountMode;
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.batch.BatchResult;
+import id.kai.eraport.dto.menu.MenuDetail;
+import id.kai.eraport.dto.menu.MenuTreeNode;
+import id.kai.eraport.dto.menu.MenuView;
 import id.kai.eraport.model.Menus;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
+import java.util.List;
 import java.util.UUID;
 
 public interface MenuService {
-    Menus create(Menus menu, String token);
-    Menus update(UUID id, Menus updateMenu, String token);
-    Page<Menus> getAll(int page, int size, String sortBy);
-    Menus getById(UUID id);
-    void delete(UUID id, String token);
+    Menus create(Menus menu, JwtUserInfo user);
+    void update(UUID id, Menus updateMenu, JwtUserInfo user);
+    Slice<MenuView> getAll(int page, int size, String sortBy, CountMode count);
+    CursorPage<MenuView> getAllAfter(String after, int size, String sortBy);
+    MenuDetail getById(UUID id);
+    List<MenuTreeNode> getTree(UUID rootId, int maxDepth, boolean includeInactive);
+    void delete(UUID id, Long version, JwtUserInfo user);
+    BatchResult createAll(List<Menus> menus, JwtUserInfo user);
+    BatchResult updateAll(List<Menus> menus, JwtUserInfo user);
+    BatchResult deleteAll(List<BatchDeleteItem> items, JwtUserInfo user);
 }
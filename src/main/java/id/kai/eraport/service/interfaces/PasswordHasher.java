@@ -0,0 +1,10 @@
+package id.kai.eraport.service.interfaces;
+
+import java.util.List;
+
+public interface PasswordHasher {
+    String encode(String rawPassword);
+    List<String> encodeAll(List<String> rawPasswords);
+    boolean matches(String rawPassword, String encodedPassword);
+    boolean needsRehash(String encodedPassword);
+}
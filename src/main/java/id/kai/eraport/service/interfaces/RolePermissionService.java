@@ -0,0 +1,11 @@
+package id.kai.eraport.service.interfaces;
+
+import id.kai.eraport.dto.auth.JwtUserInfo;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface RolePermissionService {
+    List<UUID> getMenuIds(UUID roleId);
+    List<UUID> replaceMenus(UUID roleId, List<UUID> menuIds, JwtUserInfo user);
+}
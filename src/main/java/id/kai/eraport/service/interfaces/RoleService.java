@@ -1,5 +1,11 @@
 package id.kai.eraport.service.interfaces;
 
+import id.kai.eraport.common.pagination.CursorPage;
+import id.kai.eraport.dto.auth.JwtUserInfo;
+import id.kai.eraport.dto.batch.BatchDeleteItem;
+import id.kai.eraport.dto.batch.BatchResult;
+import id.kai.eraport.dto.role.RoleDetail;
+import id.kai.eraport.dto.role.RoleView;
 import id.kai.eraport.model.Roles;
 import org.springframework.data.domain.Page;
 
@@ -7,9 +13,13 @@ import java.util.List;
 import java.util.UUID;
 
 public interface RoleService {
-    Roles create(Roles role, String token);
-    Roles update(UUID id, Roles updatedRole, String token);
-    Page<Roles> getAll(int page, int size, String sortBy);
-    Roles getById(UUID id);
-    void delete(UUID id, String token);
+    Roles create(Roles role, JwtUserInfo user);
+    void update(UUID id, Roles updatedRole, JwtUserInfo user);
+    Page<RoleView> getAll(int page, int size, String sortBy);
+    CursorPage<RoleView> getAllAfter(String after, int size, String sortBy);
+    RoleDetail getById(UUID id);
+    void delete(UUID id, Long version, JwtUserInfo user);
+    BatchResult createAll(List<Roles> roles, JwtUserInfo user);
+    BatchResult updateAll(List<Roles> roles, JwtUserInfo user);
+    BatchResult deleteAll(List<BatchDeleteItem> items, JwtUserInfo user);
 }
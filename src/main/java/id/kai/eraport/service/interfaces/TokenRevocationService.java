@@ -0,0 +1,8 @@
+package id.kai.eraport.service.interfaces;
+
+import java.util.UUID;
+
+public interface TokenRevocationService {
+    boolean isRevoked(UUID familyId);
+    void revokeFamily(UUID familyId);
+}
@@ -0,0 +1,10 @@
+package id.kai.eraport.service.interfaces;
+
+import id.kai.eraport.dto.user.UserImportResult;
+
+import java.io.InputStream;
+
+public interface UserImportService {
+    UserImportResult importCsv(InputStream input);
+    UserImportResult importNdjson(InputStream input);
+}
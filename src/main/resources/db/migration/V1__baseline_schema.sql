@@ -0,0 +1,57 @@
+-- Schema as previously created by hibernate ddl-auto=update.
+-- IF NOT EXISTS lets databases that were created that way adopt the migrations unchanged.
+
+create table if not exists roles (
+    id               uuid not null primary key,
+    role_name        varchar(255),
+    is_deleted       boolean not null,
+    created_at       timestamp(6),
+    created_by       uuid,
+    last_modified_at timestamp(6),
+    last_modified_by uuid
+);
+
+create table if not exists users (
+    id         uuid not null primary key,
+    name       varchar(255),
+    email      varchar(255),
+    password   varchar(255),
+    role       uuid,
+    is_deleted boolean not null,
+    created_at timestamp(6)
+);
+
+create table if not exists menus (
+    id               uuid not null primary key,
+    name             varchar(255),
+    icon             varchar(255),
+    type             varchar(255),
+    parent_menu_id   uuid,
+    is_active        boolean not null,
+    is_deleted       boolean not null,
+    created_at       timestamp(6),
+    created_by       uuid,
+    last_modified_at timestamp(6),
+    last_modified_by uuid
+);
+
+create table if not exists refresh_tokens (
+    id          uuid not null primary key,
+    family_id   uuid,
+    user_id     uuid,
+    expires_at  timestamp(6),
+    used_at     timestamp(6),
+    replaced_by uuid,
+    is_revoked  boolean not null,
+    revoked_at  timestamp(6),
+    created_at  timestamp(6)
+);
+
+create table if not exists role_menus (
+    id         uuid not null primary key,
+    role_id    uuid,
+    menu_id    uuid,
+    created_at timestamp(6),
+    created_by uuid,
+    constraint uk_role_menus_role_menu unique (role_id, menu_id)
+);
@@ -0,0 +1,36 @@
+-- Indexes shaped after the queries, almost all of which filter on is_deleted = false.
+-- Lookups by id need nothing beyond the primary key, the deleted flag is checked on the single row.
+
+-- Ad-hoc keyset indexes created by ddl-auto=update before migrations took over
+drop index if exists idx_menus_name_id;
+drop index if exists idx_menus_type_id;
+drop index if exists idx_menus_created_at_id;
+drop index if exists idx_menus_last_modified_at_id;
+
+-- Login, registration and import: one active account per email, case-insensitive
+create unique index if not exists ux_users_email_active
+    on users (lower(email)) where not is_deleted;
+
+-- Menu tree recursion and children listings, siblings come back ordered by name
+create index if not exists ix_menus_parent_active
+    on menus (parent_menu_id, name) where not is_deleted;
+
+-- Whitelisted sort fields of the menu listing, (key, id) serves both OFFSET and keyset seeks
+create index if not exists ix_menus_name_active
+    on menus (name, id) where not is_deleted;
+create index if not exists ix_menus_type_active
+    on menus (type, id) where not is_deleted;
+create index if not exists ix_menus_created_at_active
+    on menus (created_at, id) where not is_deleted;
+create index if not exists ix_menus_last_modified_at_active
+    on menus (last_modified_at, id) where not is_deleted;
+
+-- Refresh token families: revocation on reuse/logout and the revocation index sync
+create index if not exists ix_refresh_tokens_family
+    on refresh_tokens (family_id);
+create index if not exists ix_refresh_tokens_revoked_at
+    on refresh_tokens (revoked_at) where is_revoked;
+
+-- Permission matrix join from menus back to grants
+create index if not exists ix_role_menus_menu
+    on role_menus (menu_id);
@@ -0,0 +1,3 @@
+-- Row versions for optimistic locking, bumped by every update and soft delete
+alter table menus add column if not exists version bigint not null default 0;
+alter table roles add column if not exists version bigint not null default 0;
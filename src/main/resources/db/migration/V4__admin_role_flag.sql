@@ -0,0 +1,4 @@
+-- Admin roles pass every permission rule. They used to be matched by name, so anyone allowed to
+-- create or rename roles could mint one. The flag is only ever set here or by hand in the database.
+alter table roles add column if not exists is_admin boolean not null default false;
+update roles set is_admin = true where lower(role_name) = 'admin' and is_deleted = false;
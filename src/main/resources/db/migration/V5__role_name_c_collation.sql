@@ -0,0 +1,4 @@
+-- RoleCatalog sorts and pages roles in memory by code point. Byte-wise "C" collation makes PostgreSQL order
+-- role_name the same way, whatever the database default, so in-memory and SQL listings agree on page order
+-- and cursor boundaries.
+alter table roles alter column role_name type varchar(255) collate "C";
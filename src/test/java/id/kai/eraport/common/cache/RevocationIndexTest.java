@@ -0,0 +1,73 @@
+package id.kai.eraport.common.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RevocationIndexTest {
+	private static final long HOUR = 3_600_000L;
+
+	@Test
+	void reportsRevokedFamiliesUntilTheyExpire() {
+		RevocationIndex index = new RevocationIndex(100);
+		UUID live = UUID.randomUUID();
+		UUID expired = UUID.randomUUID();
+
+		index.revoke(live, System.currentTimeMillis() + HOUR);
+		index.revoke(expired, System.currentTimeMillis() - 1);
+
+		assertThat(index.isRevoked(live)).isTrue();
+		assertThat(index.isRevoked(expired)).isFalse();
+		assertThat(index.isRevoked(UUID.randomUUID())).isFalse();
+		assertThat(index.isRevoked(null)).isFalse();
+	}
+
+	@Test
+	void keepsTheLatestExpiryOfAFamily() {
+		RevocationIndex index = new RevocationIndex(100);
+		UUID family = UUID.randomUUID();
+
+		index.revoke(family, System.currentTimeMillis() + HOUR);
+		index.revoke(family, System.currentTimeMillis() - 1);
+
+		assertThat(index.isRevoked(family)).isTrue();
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void compactDropsExpiredEntriesAndKeepsLiveOnes() {
+		RevocationIndex index = new RevocationIndex(1_000);
+		List<UUID> live = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			UUID family = UUID.randomUUID();
+			if (i % 2 == 0) {
+				live.add(family);
+				index.revoke(family, System.currentTimeMillis() + HOUR);
+			} else {
+				index.revoke(family, System.currentTimeMillis() - 1);
+			}
+		}
+
+		index.compact();
+
+		assertThat(index.size()).isEqualTo(live.size());
+		assertThat(live).allMatch(index::isRevoked);
+	}
+
+	@Test
+	void neverReportsAFamilyThatWasNotRevoked() {
+		// A full filter gives Bloom false positives, the exact map must still turn them down
+		RevocationIndex index = new RevocationIndex(100);
+		for (int i = 0; i < 10_000; i++) {
+			index.revoke(UUID.randomUUID(), System.currentTimeMillis() + HOUR);
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertThat(index.isRevoked(UUID.randomUUID())).isFalse();
+		}
+	}
+}
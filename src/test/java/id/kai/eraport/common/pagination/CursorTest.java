@@ -0,0 +1,76 @@
+package id.kai.eraport.common.pagination;
+
+import id.kai.eraport.dto.menu.MenuView;
+import id.kai.eraport.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+	private static final UUID ID = UUID.fromString("0199f0a2-1c3e-7a11-8b2c-3d4e5f607182");
+
+	@Test
+	void roundTripsEachKeyType() {
+		Timestamp createdAt = Timestamp.from(Instant.parse("2026-10-18T08:15:30.123456Z"));
+		MenuView menu = new MenuView(ID, "Role\nManagement =ü", null, "MENU", null, true,
+				createdAt, createdAt, 3);
+
+		for (String sortBy : new String[] {"id", "name", "createdAt"}) {
+			SortField<MenuView> field = SortFields.MENUS.get(sortBy);
+			Cursor cursor = Cursor.after(field, menu, ID);
+
+			Cursor decoded = Cursor.decode(cursor.encode(field), field);
+
+			assertThat(decoded).isEqualTo(cursor);
+		}
+	}
+
+	@Test
+	void roundTripsANullKey() {
+		SortField<MenuView> field = SortFields.MENUS.get("type");
+		Cursor cursor = new Cursor("type", null, ID);
+
+		assertThat(Cursor.decode(cursor.encode(field), field)).isEqualTo(cursor);
+	}
+
+	@Test
+	void encodesAsUrlSafeToken() {
+		SortField<MenuView> field = SortFields.MENUS.get("name");
+
+		String token = new Cursor("name", "??>>~~", ID).encode(field);
+
+		assertThat(token).matches("[A-Za-z0-9_-]+");
+	}
+
+	@Test
+	void rejectsACursorIssuedForAnotherSortField() {
+		String token = new Cursor("name", "Menu", ID).encode(SortFields.MENUS.get("name"));
+
+		assertThatThrownBy(() -> Cursor.decode(token, SortFields.MENUS.get("type")))
+				.isInstanceOf(BadRequestException.class)
+				.hasMessage("Cursor was issued for another sort field");
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		SortField<MenuView> field = SortFields.MENUS.get("id");
+
+		for (String token : new String[] {"", "not base64!", encode("id"), encode("id\n=x\n" + ID),
+				encode("id\n\nnot-a-uuid")}) {
+			assertThatThrownBy(() -> Cursor.decode(token, field))
+					.isInstanceOf(BadRequestException.class)
+					.hasMessage("Invalid cursor");
+		}
+	}
+
+	private static String encode(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
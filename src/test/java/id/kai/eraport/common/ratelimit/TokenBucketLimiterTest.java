@@ -0,0 +1,113 @@
+package id.kai.eraport.common.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenBucketLimiterTest {
+	private static final long SECOND = 1_000_000_000L;
+	private static final long NOW = 50 * SECOND;
+
+	@Test
+	void allowsABurstOfCapacityThenReportsTheWait() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter("login", 3, 1.0, 100);
+
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isEqualTo(SECOND);
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW + SECOND / 4)).isEqualTo(SECOND * 3 / 4);
+
+		assertThat(limiter.getAllowed()).isEqualTo(3);
+		assertThat(limiter.getRejected()).isEqualTo(2);
+	}
+
+	@Test
+	void refillsOneTokenPerEmissionInterval() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter("login", 2, 4.0, 100);
+		limiter.tryAcquire("10.0.0.1", NOW);
+		limiter.tryAcquire("10.0.0.1", NOW);
+
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isPositive();
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW + SECOND / 4)).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW + SECOND / 4)).isPositive();
+	}
+
+	@Test
+	void keepsClientsApart() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter("login", 1, 1.0, 100);
+
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.1", NOW)).isPositive();
+		assertThat(limiter.tryAcquire("10.0.0.2", NOW)).isZero();
+	}
+
+	@Test
+	void newClientsShareTheOverflowBucketWhileFull() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter("login", 1, 1.0, 1);
+		limiter.tryAcquire("10.0.0.1", NOW);
+
+		assertThat(limiter.tryAcquire("10.0.0.2", NOW)).isZero();
+		assertThat(limiter.tryAcquire("10.0.0.3", NOW)).isPositive();
+		assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+	}
+
+	@Test
+	void evictsOnlyFullyRefilledBuckets() {
+		TokenBucketLimiter limiter = new TokenBucketLimiter("login", 3, 1.0, 100);
+		limiter.tryAcquire("10.0.0.1", NOW);
+		limiter.tryAcquire("10.0.0.2", NOW);
+		limiter.tryAcquire("10.0.0.2", NOW);
+
+		limiter.evictIdle(NOW + SECOND);
+		assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+
+		limiter.evictIdle(NOW + 2 * SECOND);
+		assertThat(limiter.getTrackedKeys()).isZero();
+	}
+
+	@Test
+	void concurrentCallersNeverExceedTheBurst() throws Exception {
+		int threads = 8;
+		TokenBucketLimiter limiter = new TokenBucketLimiter("login", 10, 1.0, 100);
+		AtomicInteger granted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int t = 0; t < threads; t++) {
+				executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < 1_000; i++) {
+						if (limiter.tryAcquire("10.0.0.1", NOW) == 0) {
+							granted.incrementAndGet();
+						}
+					}
+					return null;
+				});
+			}
+			start.countDown();
+			executor.shutdown();
+			assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertThat(granted.get()).isEqualTo(10);
+		assertThat(limiter.getRejected()).isEqualTo(threads * 1_000L - 10);
+	}
+
+	@Test
+	void rejectsAnEmptyBucket() {
+		assertThatThrownBy(() -> new TokenBucketLimiter("login", 0, 1.0, 100))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new TokenBucketLimiter("login", 1, 0.0, 100))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
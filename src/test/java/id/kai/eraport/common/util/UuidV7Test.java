@@ -0,0 +1,119 @@
+package id.kai.eraport.common.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7Test {
+	private static final long MILLIS = 1_760_000_000_000L;
+
+	@Test
+	void setsVersionAndVariantBits() {
+		for (long random : new long[] {0L, -1L, 0x5555555555555555L}) {
+			UUID id = UuidV7.toUuid((MILLIS << 12) | 0xFFF, random);
+			assertThat(id.version()).isEqualTo(7);
+			assertThat(id.variant()).isEqualTo(2);
+			assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(MILLIS);
+			assertThat(id.getMostSignificantBits() & 0xFFF).isEqualTo(0xFFF);
+		}
+
+		UUID id = UuidV7.next();
+		assertThat(id.version()).isEqualTo(7);
+		assertThat(id.variant()).isEqualTo(2);
+	}
+
+	@Test
+	void embedsTheCurrentTime() {
+		long before = System.currentTimeMillis();
+		UUID id = UuidV7.next();
+		long after = System.currentTimeMillis();
+
+		// May run ahead of the clock when an earlier burst borrowed from the next millisecond
+		assertThat(id.getMostSignificantBits() >>> 16).isBetween(before, after + 1);
+	}
+
+	@Test
+	void seedsTheCounterOnAFreshMillisecond() {
+		long previous = (MILLIS << 12) | 100;
+
+		assertThat(UuidV7.nextStamp(previous, MILLIS + 1, 7)).isEqualTo(((MILLIS + 1) << 12) | 7);
+	}
+
+	@Test
+	void incrementsTheCounterWithinAMillisecond() {
+		long previous = (MILLIS << 12) | 100;
+
+		assertThat(UuidV7.nextStamp(previous, MILLIS, 7)).isEqualTo(previous + 1);
+	}
+
+	@Test
+	void borrowsTheNextMillisecondWhenTheCounterOverflows() {
+		long previous = (MILLIS << 12) | 0xFFF;
+
+		long stamp = UuidV7.nextStamp(previous, MILLIS, 7);
+
+		assertThat(stamp).isEqualTo((MILLIS + 1) << 12);
+		assertThat(compare(UuidV7.toUuid(stamp, 0L), UuidV7.toUuid(previous, -1L))).isPositive();
+	}
+
+	@Test
+	void keepsOrderWhenTheClockMovesBack() {
+		long previous = (MILLIS << 12) | 5;
+
+		long stamp = UuidV7.nextStamp(previous, MILLIS - 1_000, 7);
+
+		assertThat(stamp).isEqualTo(previous + 1);
+		assertThat(compare(UuidV7.toUuid(stamp, 0L), UuidV7.toUuid(previous, -1L))).isPositive();
+	}
+
+	@Test
+	void idsAreStrictlyIncreasingAcrossThreads() throws Exception {
+		int threads = 8;
+		int perThread = 20_000;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<List<UUID>>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				Callable<List<UUID>> task = () -> {
+					List<UUID> ids = new ArrayList<>(perThread);
+					for (int i = 0; i < perThread; i++) {
+						ids.add(UuidV7.next());
+					}
+					return ids;
+				};
+				futures.add(executor.submit(task));
+			}
+
+			// Every stamp is handed out once, so the time and counter bits alone are unique
+			Set<Long> stamps = new HashSet<>();
+			for (Future<List<UUID>> future : futures) {
+				List<UUID> ids = future.get();
+				for (int i = 0; i < ids.size(); i++) {
+					if (i > 0) {
+						assertThat(compare(ids.get(i), ids.get(i - 1))).isPositive();
+					}
+					assertThat(stamps.add(ids.get(i).getMostSignificantBits())).isTrue();
+				}
+			}
+			assertThat(stamps).hasSize(threads * perThread);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// Unsigned, the order PostgreSQL sorts uuid values in
+	private static int compare(UUID a, UUID b) {
+		int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+		return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+	}
+}